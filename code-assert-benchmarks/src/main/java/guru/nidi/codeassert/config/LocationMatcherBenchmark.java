@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LocationMatcherBenchmark {
+    private static final String PACKAGE = "guru.nidi.codeassert.dependency";
+    private static final String CLASS = "DependencyRules";
+    private static final String METHOD = "analyzeRules";
+
+    @Param({"guru.nidi.codeassert.dependency.DependencyRules#analyzeRules", "*.dependency.*Rules", "*Rule*", "*"})
+    private String pattern;
+
+    private LocationMatcher matcher;
+    private LocationNameMatcher nameMatcher;
+
+    @Setup
+    public void setup() {
+        matcher = new LocationMatcher(pattern);
+        nameMatcher = new LocationNameMatcher(Arrays.asList(pattern), Arrays.asList("GodClass", "Cyclomatic*"));
+    }
+
+    @Benchmark
+    public LocationMatcher compile() {
+        return new LocationMatcher(pattern);
+    }
+
+    @Benchmark
+    public boolean matchClass() {
+        return matcher.matchesClass(PACKAGE + "." + CLASS);
+    }
+
+    @Benchmark
+    public boolean matchLocation() {
+        return matcher.matches(PACKAGE, CLASS, METHOD);
+    }
+
+    @Benchmark
+    public boolean matchNameAndLocation() {
+        return nameMatcher.matches("CyclomaticComplexity", PACKAGE + "." + CLASS, METHOD, false);
+    }
+}
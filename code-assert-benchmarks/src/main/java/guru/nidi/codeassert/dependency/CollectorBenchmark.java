@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.config.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static guru.nidi.codeassert.dependency.DependencyCollector.*;
+
+/**
+ * Filters findings with a collector having many actions.
+ * Half of the actions ignore issues by name, so they can be looked up by the action index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollectorBenchmark {
+    private static final String[] TYPES = {MISSING, DENIED, NOT_EXISTING, UNDEFINED, CYCLE};
+    private static final int ENTRIES = 1000;
+
+    @Param({"10", "100", "1000"})
+    private int actions;
+
+    private DependencyCollector collector;
+    private DependencyEntry[] entries;
+
+    @Setup
+    public void setup() {
+        final Ignore[] ignores = new Ignore[actions];
+        for (int i = 0; i < actions; i++) {
+            ignores[i] = i % 2 == 0
+                    ? In.loc("p" + i + ".*").ignore(TYPES[i % TYPES.length])
+                    : In.loc("p" + i + ".C*").ignoreAll();
+        }
+        collector = new DependencyCollector().just(ignores);
+        entries = new DependencyEntry[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            entries[i] = new DependencyEntry(TYPES[i % TYPES.length], "p" + (i % (2 * actions)) + ".C" + i, "");
+        }
+    }
+
+    @Benchmark
+    public long filter() {
+        final UsageCounter counter = new UsageCounter();
+        for (final DependencyEntry entry : entries) {
+            counter.accept(collector.accept(entry));
+        }
+        return counter.getAccepted();
+    }
+}
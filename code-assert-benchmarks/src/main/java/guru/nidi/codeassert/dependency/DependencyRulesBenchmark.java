@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.model.*;
+import guru.nidi.codeassert.model.Scope;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates rules and searches cycles on synthetic models of several sizes.
+ * Every package may use the next one, so most of the random uses are denied.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DependencyRulesBenchmark {
+    private static final int USES_PER_CLASS = 5;
+
+    @Param({"100", "1000", "10000"})
+    private int classes;
+
+    private Model model;
+    private DependencyRules rules;
+
+    @Setup
+    public void setup() {
+        final int packages = Math.max(1, classes / 20);
+        model = SyntheticModel.create(classes, packages, USES_PER_CLASS, 42);
+        rules = DependencyRules.denyAll();
+        for (int i = 0; i < packages; i++) {
+            rules.addRule(SyntheticModel.packageName(i))
+                    .mayUse(rules.rule(SyntheticModel.packageName((i + 1) % packages)));
+        }
+    }
+
+    @Benchmark
+    public Dependencies packageRules() {
+        return rules.analyzeRules(Scope.packages(model));
+    }
+
+    @Benchmark
+    public Dependencies classRules() {
+        return rules.analyzeRules(Scope.classes(model));
+    }
+
+    @Benchmark
+    public Set<DependencyMap> packageCycles() {
+        return new Tarjan<JavaPackage>(ViolationBudget.unlimited()).analyzeCycles(Scope.packages(model), false);
+    }
+
+    @Benchmark
+    public Set<DependencyMap> classCycles() {
+        return new Tarjan<JavaClass>(ViolationBudget.unlimited()).analyzeCycles(Scope.classes(model), false);
+    }
+}
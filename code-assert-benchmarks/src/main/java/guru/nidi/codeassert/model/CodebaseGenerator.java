@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.model;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import java.io.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates valid class files of a synthetic code base.
+ * The same configuration and seed always generate the same classes.
+ * <ul>
+ * <li>Classes are distributed evenly over the packages p0, p1, ...</li>
+ * <li>Each class uses on average {@code fanOut} other classes, between 0 and twice the average.</li>
+ * <li>A skew greater than 1 makes classes with a low index used more often, like utility classes.</li>
+ * <li>Uses normally go to packages with the same or a higher index.
+ * The cycle density is the probability of a use going to a package with a lower index.</li>
+ * <li>Uses are fields, with generic signatures every other field if enabled.</li>
+ * <li>Every class can be annotated with the annotation annotation.Generated.</li>
+ * </ul>
+ */
+public final class CodebaseGenerator {
+    private static final String OBJECT = "java/lang/Object";
+    private static final String ANNOTATION = "annotation/Generated";
+
+    private final int classes;
+    private final int packages;
+    private final int fanOut;
+    private final double skew;
+    private final double cycleDensity;
+    private final boolean genericSignatures;
+    private final boolean annotations;
+    private final long seed;
+
+    public CodebaseGenerator(int classes, int packages) {
+        this(classes, packages, 5, 1, 0, false, false, 0);
+    }
+
+    private CodebaseGenerator(int classes, int packages, int fanOut, double skew, double cycleDensity,
+                              boolean genericSignatures, boolean annotations, long seed) {
+        this.classes = classes;
+        this.packages = packages;
+        this.fanOut = fanOut;
+        this.skew = skew;
+        this.cycleDensity = cycleDensity;
+        this.genericSignatures = genericSignatures;
+        this.annotations = annotations;
+        this.seed = seed;
+    }
+
+    public CodebaseGenerator fanOut(int fanOut, double skew) {
+        return new CodebaseGenerator(classes, packages, fanOut, skew, cycleDensity,
+                genericSignatures, annotations, seed);
+    }
+
+    public CodebaseGenerator cycleDensity(double cycleDensity) {
+        return new CodebaseGenerator(classes, packages, fanOut, skew, cycleDensity,
+                genericSignatures, annotations, seed);
+    }
+
+    public CodebaseGenerator genericSignatures(boolean genericSignatures) {
+        return new CodebaseGenerator(classes, packages, fanOut, skew, cycleDensity,
+                genericSignatures, annotations, seed);
+    }
+
+    public CodebaseGenerator annotations(boolean annotations) {
+        return new CodebaseGenerator(classes, packages, fanOut, skew, cycleDensity,
+                genericSignatures, annotations, seed);
+    }
+
+    public CodebaseGenerator seed(long seed) {
+        return new CodebaseGenerator(classes, packages, fanOut, skew, cycleDensity,
+                genericSignatures, annotations, seed);
+    }
+
+    /**
+     * Generate all class files.
+     *
+     * @return the class files by their file name, like p1/C7.class.
+     */
+    public Map<String, byte[]> generate() {
+        final Map<String, byte[]> res = new LinkedHashMap<>();
+        final Random random = new Random(seed);
+        if (annotations) {
+            res.put(ANNOTATION + ".class", annotationClass());
+        }
+        for (int i = 0; i < classes; i++) {
+            res.put(className(i) + ".class", classFile(i, random));
+        }
+        return res;
+    }
+
+    /**
+     * Parse the generated classes into a model without writing them to disk.
+     *
+     * @return the model of the generated classes.
+     * @throws IOException if a class file could not be parsed.
+     */
+    public Model model() throws IOException {
+        final Model model = new Model();
+        final ClassFileParser parser = new ClassFileParser();
+        for (final byte[] classFile : generate().values()) {
+            parser.parse(new ByteArrayInputStream(classFile), model);
+        }
+        for (final JavaPackage pack : model.getPackages()) {
+            pack.aggregate();
+        }
+        return model;
+    }
+
+    /**
+     * Write the generated classes into a jar, e.g. to be read by {@link Model#from(File...)}.
+     *
+     * @param jar the jar file to write.
+     * @return the jar file.
+     * @throws IOException if the file could not be written.
+     */
+    public File jar(File jar) throws IOException {
+        try (final JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (final Map.Entry<String, byte[]> classFile : generate().entrySet()) {
+                out.putNextEntry(new JarEntry(classFile.getKey()));
+                out.write(classFile.getValue());
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private byte[] classFile(int index, Random random) {
+        final ClassWriter cw = new ClassWriter(0);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_SUPER, className(index), null, OBJECT, null);
+        if (annotations) {
+            cw.visitAnnotation("L" + ANNOTATION + ";", true).visitEnd();
+        }
+        final int uses = fanOut == 0 ? 0 : random.nextInt(2 * fanOut + 1);
+        for (int i = 0; i < uses; i++) {
+            final String target = "L" + className(target(index, random)) + ";";
+            final boolean generic = genericSignatures && i % 2 == 1;
+            final FieldVisitor fv = cw.visitField(ACC_PRIVATE, "f" + i,
+                    generic ? "Ljava/util/List;" : target,
+                    generic ? "Ljava/util/List<" + target + ">;" : null, null);
+            fv.visitEnd();
+        }
+        constructor(cw);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private int target(int from, Random random) {
+        final int usedPackages = Math.min(packages, classes);
+        final int fromPackage = from % packages;
+        final boolean backwards = fromPackage > 0 && random.nextDouble() < cycleDensity;
+        final int pack = backwards
+                ? random.nextInt(fromPackage)
+                : fromPackage + skewed(usedPackages - fromPackage, random);
+        return skewed(classesIn(pack), random) * packages + pack;
+    }
+
+    private int classesIn(int pack) {
+        return (classes - pack + packages - 1) / packages;
+    }
+
+    private int skewed(int bound, Random random) {
+        return (int) (bound * Math.pow(random.nextDouble(), skew));
+    }
+
+    private static void constructor(ClassWriter cw) {
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    private static byte[] annotationClass() {
+        final ClassWriter cw = new ClassWriter(0);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE | ACC_ANNOTATION, ANNOTATION, null, OBJECT,
+                new String[]{"java/lang/annotation/Annotation"});
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private String className(int index) {
+        return "p" + (index % packages) + "/C" + index;
+    }
+}
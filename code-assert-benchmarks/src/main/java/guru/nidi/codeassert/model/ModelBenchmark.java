@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses real jars of code-assert's dependencies.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelBenchmark {
+    @Param({"com.puppycrawl.tools.checkstyle.Checker", "net.sourceforge.pmd.PMD", "edu.umd.cs.findbugs.FindBugs2"})
+    private String classInJar;
+
+    private File jar;
+    private byte[] classFile;
+
+    @Setup
+    public void setup() throws ClassNotFoundException, URISyntaxException, IOException {
+        final Class<?> clazz = Class.forName(classInJar);
+        jar = new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (final InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[8192];
+            int read;
+            while ((read = in.read(buf)) > 0) {
+                out.write(buf, 0, read);
+            }
+            classFile = out.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public Model modelFromJar() {
+        return Model.from(jar);
+    }
+
+    @Benchmark
+    public JavaClass parseClassFile() throws IOException {
+        return new ClassFileParser().parse(new ByteArrayInputStream(classFile), new Model());
+    }
+}
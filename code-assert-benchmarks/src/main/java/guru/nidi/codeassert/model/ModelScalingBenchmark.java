@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses generated code bases of growing size, from a jar like a real analysis does.
+ * Run bigger sizes with e.g. {@code -p classes=500000}.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ModelScalingBenchmark {
+    @Param({"10000", "100000"})
+    private int classes;
+
+    @Param({"0", "0.05"})
+    private double cycleDensity;
+
+    private File jar;
+
+    @Setup
+    public void setup() throws IOException {
+        jar = new CodebaseGenerator(classes, classes / 50)
+                .fanOut(8, 2)
+                .cycleDensity(cycleDensity)
+                .genericSignatures(true)
+                .annotations(true)
+                .jar(File.createTempFile("codebase", ".jar"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (!jar.delete()) {
+            jar.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public Model modelFromJar() {
+        return Model.from(jar);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static guru.nidi.codeassert.model.SignatureParser.Source.*;
+
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SignatureParserBenchmark {
+    private static final String CLASS_SIGNATURE =
+            "<K:Ljava/lang/Object;V::Ljava/lang/Comparable<TV;>;>Ljava/util/AbstractMap<TK;TV;>;"
+                    + "Ljava/util/Map<TK;TV;>;Ljava/io/Serializable;";
+    private static final String FIELD_SIGNATURE = "Ljava/util/Map<Ljava/lang/String;Ljava/util/List<[I>;>;";
+    private static final String METHOD_SIGNATURE =
+            "<T:Ljava/lang/Object;>(Ljava/util/Map<Ljava/lang/String;+Ljava/util/List<TT;>;>;I)"
+                    + "Ljava/util/Set<-Ljava/lang/Number;>;^Ljava/io/IOException;";
+
+    @Benchmark
+    public SignatureParser classSignature() {
+        return SignatureParser.parseSignature(CLASS, CLASS_SIGNATURE);
+    }
+
+    @Benchmark
+    public SignatureParser fieldSignature() {
+        return SignatureParser.parseSignature(FIELD, FIELD_SIGNATURE);
+    }
+
+    @Benchmark
+    public SignatureParser methodSignature() {
+        return SignatureParser.parseSignature(METHOD, METHOD_SIGNATURE);
+    }
+}
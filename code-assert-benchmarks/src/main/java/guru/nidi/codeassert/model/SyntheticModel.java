@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.model;
+
+import java.util.Random;
+
+/**
+ * Creates models of a given size without parsing class files.
+ * Classes are named p&lt;package&gt;.C&lt;class&gt; and use random classes of the model,
+ * so the bigger the model, the more and the longer the cycles.
+ */
+public final class SyntheticModel {
+    private SyntheticModel() {
+    }
+
+    public static Model create(int classes, int packages, int usesPerClass, long seed) {
+        final Model model = new Model();
+        final Random random = new Random(seed);
+        for (int i = 0; i < classes; i++) {
+            model.getOrCreateClass(className(i, packages));
+        }
+        for (int i = 0; i < classes; i++) {
+            final JavaClass clazz = model.getOrCreateClass(className(i, packages));
+            for (int j = 0; j < usesPerClass; j++) {
+                clazz.addImport(className(random.nextInt(classes), packages), model);
+            }
+        }
+        return model;
+    }
+
+    public static String packageName(int pack) {
+        return "p" + pack;
+    }
+
+    private static String className(int clazz, int packages) {
+        return packageName(clazz % packages) + ".C" + clazz;
+    }
+}
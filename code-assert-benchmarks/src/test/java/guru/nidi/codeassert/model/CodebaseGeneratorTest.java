@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.model;
+
+import guru.nidi.codeassert.dependency.DependencyAnalyzer;
+import guru.nidi.codeassert.dependency.DependencyRules;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import static guru.nidi.codeassert.junit.CodeAssertMatchers.hasNoCycles;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodebaseGeneratorTest {
+    private final CodebaseGenerator generator = new CodebaseGenerator(500, 20)
+            .fanOut(6, 2).genericSignatures(true).annotations(true).seed(42);
+
+    @Test
+    void sameSeedGeneratesSameBytes() {
+        final Map<String, byte[]> first = generator.generate();
+        final Map<String, byte[]> second = new CodebaseGenerator(500, 20)
+                .fanOut(6, 2).genericSignatures(true).annotations(true).seed(42).generate();
+        assertEquals(first.keySet(), second.keySet());
+        for (final Map.Entry<String, byte[]> entry : first.entrySet()) {
+            assertTrue(Arrays.equals(entry.getValue(), second.get(entry.getKey())), entry.getKey());
+        }
+    }
+
+    @Test
+    void parsedModel() throws IOException {
+        final Model model = generator.model();
+        assertEquals(500, count(model.getClasses()));
+        assertEquals(20, count(model.getPackages()));
+        assertTrue(model.getClasses().stream().anyMatch(c -> c.getName().equals("annotation.Generated")));
+    }
+
+    @Test
+    void noPackageCyclesWithoutCycleDensity() throws IOException {
+        assertNoCycles(generator.cycleDensity(0).model());
+        assertNoCycles(new CodebaseGenerator(7, 10).fanOut(3, 1).model());
+    }
+
+    private static void assertNoCycles(Model model) {
+        assertThat(new DependencyAnalyzer(model).rules(DependencyRules.allowAll()).analyze(), hasNoCycles());
+    }
+
+    //the model also contains the used JDK classes and packages
+    private static long count(Iterable<? extends UsingElement<?>> elems) {
+        long count = 0;
+        for (final UsingElement<?> elem : elems) {
+            if (elem.getName().matches("p\\d+(\\..*)?")) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import java.util.*;
+
+/**
+ * Sums up the times of the phases and the counters per analyzer.
+ * When the {@link Instrumentation#ANALYZE} phase of an analyzer ends,
+ * {@link #analyzed(String)} is called.
+ */
+public class AnalyzerMetrics implements AnalyzerListener {
+    private final Map<String, Map<String, Long>> nanos = new TreeMap<>();
+    private final Map<String, Map<String, Long>> counters = new TreeMap<>();
+
+    @Override
+    public void phaseStarted(String analyzer, String phase) {
+        //only the end of a phase is interesting
+    }
+
+    @Override
+    public synchronized void phaseEnded(String analyzer, String phase, long nanos) {
+        add(this.nanos, analyzer, phase, nanos);
+        if (Instrumentation.ANALYZE.equals(phase)) {
+            analyzed(analyzer);
+        }
+    }
+
+    @Override
+    public synchronized void counted(String analyzer, String counter, long value) {
+        add(counters, analyzer, counter, value);
+    }
+
+    private static void add(Map<String, Map<String, Long>> values, String analyzer, String key, long value) {
+        Map<String, Long> map = values.get(analyzer);
+        if (map == null) {
+            map = new LinkedHashMap<>();
+            values.put(analyzer, map);
+        }
+        final Long old = map.get(key);
+        map.put(key, old == null ? value : old + value);
+    }
+
+    /**
+     * Called when an analyzer has finished.
+     *
+     * @param analyzer the name of the analyzer.
+     */
+    protected void analyzed(String analyzer) {
+        //to be overridden
+    }
+
+    public synchronized Set<String> analyzers() {
+        final Set<String> res = new TreeSet<>(nanos.keySet());
+        res.addAll(counters.keySet());
+        return res;
+    }
+
+    /**
+     * The summed up time of each phase of an analyzer.
+     *
+     * @param analyzer the name of the analyzer.
+     * @return the milliseconds per phase.
+     */
+    public synchronized Map<String, Long> millis(String analyzer) {
+        final Map<String, Long> res = new LinkedHashMap<>();
+        final Map<String, Long> phases = nanos.get(analyzer);
+        if (phases != null) {
+            for (final Map.Entry<String, Long> phase : phases.entrySet()) {
+                res.put(phase.getKey(), phase.getValue() / 1000000);
+            }
+        }
+        return res;
+    }
+
+    public synchronized Map<String, Long> counters(String analyzer) {
+        final Map<String, Long> res = counters.get(analyzer);
+        return res == null ? new LinkedHashMap<String, Long>() : new LinkedHashMap<>(res);
+    }
+}
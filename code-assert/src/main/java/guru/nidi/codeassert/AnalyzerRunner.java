@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import java.util.concurrent.*;
+
+/**
+ * Runs analyzers concurrently on a bounded number of threads.
+ * Idle threads terminate, so there's no need to shut down a runner.
+ * Analyzers that use threads themselves (like FindBugs) keep doing so,
+ * so the bound should rather be low than high.
+ */
+public class AnalyzerRunner {
+    private static final int IDLE_SECONDS = 1;
+
+    private final ThreadPoolExecutor executor;
+
+    public AnalyzerRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public AnalyzerRunner(int threads) {
+        executor = new ThreadPoolExecutor(threads, threads,
+                IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> Future<AnalyzerResult<T>> analyze(Analyzer<T> analyzer) {
+        return submit(new Analysis<>(analyzer));
+    }
+
+    /**
+     * Run an analysis that returns a specific result type like {@code PmdResult}.
+     *
+     * @param analysis typically calls {@code analyze()} on a configured analyzer.
+     * @param <R>      the type of the result.
+     * @return the future result.
+     */
+    public <R> Future<R> submit(Callable<R> analysis) {
+        return executor.submit(analysis);
+    }
+
+    /**
+     * Wait for a result, rethrowing the exception of a failed analysis.
+     *
+     * @param result the future result.
+     * @param <R>    the type of the result.
+     * @return the result.
+     */
+    public static <R> R await(Future<R> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalyzerException("Interrupted while waiting for analysis", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AnalyzerException("Problem executing analysis", e);
+        }
+    }
+
+    private static class Analysis<T> implements Callable<AnalyzerResult<T>> {
+        private final Analyzer<T> analyzer;
+
+        Analysis(Analyzer<T> analyzer) {
+            this.analyzer = analyzer;
+        }
+
+        @Override
+        public AnalyzerResult<T> call() {
+            return analyzer.analyze();
+        }
+    }
+}
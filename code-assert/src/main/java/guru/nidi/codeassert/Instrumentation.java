@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Reports phases and counters of the analyzers to the registered {@link AnalyzerListener}s.
+ * The system property {@code codeassert.metrics} can contain "log" and/or "json"
+ * to register a {@link LoggingAnalyzerListener} and/or
+ * a {@link JsonTimingReport} writing into target/.
+ */
+public final class Instrumentation {
+    public static final String ANALYZE = "analyze";
+    public static final String FILTER = "filter";
+    public static final String PARSE = "parse";
+    public static final String RULES = "rules";
+    public static final String CYCLES = "cycles";
+    public static final String FILES = "files";
+    public static final String BYTES = "bytes";
+    public static final String RAW_FINDINGS = "rawFindings";
+    public static final String FINDINGS = "findings";
+    public static final String USED_ACTIONS = "usedActions";
+    public static final String CACHED_FILES = "cachedFiles";
+    public static final String LOADED_RULE_SETS = "loadedRuleSets";
+    public static final String MATCHED_ELEMENTS = "matchedElements";
+    public static final String CYCLE_SEEDS = "cycleSeeds";
+
+    private static final List<AnalyzerListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    static {
+        final String metrics = System.getProperty("codeassert.metrics", "");
+        if (metrics.contains("log")) {
+            LISTENERS.add(new LoggingAnalyzerListener());
+        }
+        if (metrics.contains("json")) {
+            LISTENERS.add(new JsonTimingReport(new File("target/code-assert-timings.json")));
+        }
+    }
+
+    private Instrumentation() {
+    }
+
+    public static boolean isActive() {
+        return !LISTENERS.isEmpty();
+    }
+
+    public static void addListener(AnalyzerListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(AnalyzerListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static Phase start(String analyzer, String phase) {
+        for (final AnalyzerListener listener : LISTENERS) {
+            listener.phaseStarted(analyzer, phase);
+        }
+        return new Phase(analyzer, phase);
+    }
+
+    public static void count(String analyzer, String counter, long value) {
+        for (final AnalyzerListener listener : LISTENERS) {
+            listener.counted(analyzer, counter, value);
+        }
+    }
+
+    /**
+     * Count the files and their total size.
+     * The size is only determined if there are listeners.
+     *
+     * @param analyzer the name of the analyzer.
+     * @param files    the files read by the analyzer.
+     */
+    public static void countFiles(String analyzer, Collection<File> files) {
+        if (isActive()) {
+            long bytes = 0;
+            for (final File file : files) {
+                bytes += file.length();
+            }
+            count(analyzer, FILES, files.size());
+            count(analyzer, BYTES, bytes);
+        }
+    }
+
+    public static void countFindings(String analyzer, long raw, long filtered, long usedActions) {
+        count(analyzer, RAW_FINDINGS, raw);
+        count(analyzer, FINDINGS, filtered);
+        count(analyzer, USED_ACTIONS, usedActions);
+    }
+
+    public static final class Phase {
+        private final String analyzer;
+        private final String name;
+        private final long start;
+
+        Phase(String analyzer, String name) {
+            this.analyzer = analyzer;
+            this.name = name;
+            start = System.nanoTime();
+        }
+
+        public void end() {
+            final long nanos = System.nanoTime() - start;
+            for (final AnalyzerListener listener : LISTENERS) {
+                listener.phaseEnded(analyzer, name, nanos);
+            }
+        }
+    }
+}
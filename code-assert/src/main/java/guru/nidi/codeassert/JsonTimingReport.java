@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes the times and counters of all analyzers into a JSON file.
+ * The file is rewritten every time an analyzer has finished.
+ * <pre>
+ * {
+ *   "pmd": {
+ *     "millis": {"pmd": 4210, "filter": 12, "analyze": 4230},
+ *     "counters": {"files": 120, "bytes": 512345, "rawFindings": 40, "findings": 3, "usedActions": 8}
+ *   }
+ * }
+ * </pre>
+ */
+public class JsonTimingReport extends AnalyzerMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(JsonTimingReport.class);
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final File file;
+
+    public JsonTimingReport(File file) {
+        this.file = file;
+    }
+
+    @Override
+    protected void analyzed(String analyzer) {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            LOG.warn("Could not create directory {}", dir);
+        }
+        try (final Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write(toJson());
+        } catch (IOException e) {
+            LOG.warn("Could not write timing report {}", file, e);
+        }
+    }
+
+    String toJson() {
+        final StringBuilder s = new StringBuilder(BUFFER_SIZE).append('{');
+        String sep = "\n";
+        for (final String analyzer : analyzers()) {
+            s.append(sep).append("  \"").append(analyzer).append("\": {\n    \"millis\": ");
+            appendMap(s, millis(analyzer));
+            s.append(",\n    \"counters\": ");
+            appendMap(s, counters(analyzer));
+            s.append("\n  }");
+            sep = ",\n";
+        }
+        return s.append("\n}\n").toString();
+    }
+
+    private static void appendMap(StringBuilder s, Map<String, Long> values) {
+        s.append('{');
+        String sep = "";
+        for (final Map.Entry<String, Long> value : values.entrySet()) {
+            s.append(sep).append('"').append(value.getKey()).append("\": ").append(value.getValue());
+            sep = ", ";
+        }
+        s.append('}');
+    }
+}
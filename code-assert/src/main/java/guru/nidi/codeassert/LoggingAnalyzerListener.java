@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Logs a summary of the times and counters of an analyzer when it has finished.
+ */
+public class LoggingAnalyzerListener extends AnalyzerMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingAnalyzerListener.class);
+
+    @Override
+    protected void analyzed(String analyzer) {
+        if (LOG.isInfoEnabled()) {
+            LOG.info(summary(analyzer));
+        }
+    }
+
+    String summary(String analyzer) {
+        final StringBuilder s = new StringBuilder(analyzer).append(':');
+        for (final Map.Entry<String, Long> phase : millis(analyzer).entrySet()) {
+            s.append(' ').append(phase.getKey()).append('=').append(phase.getValue()).append("ms");
+        }
+        for (final Map.Entry<String, Long> counter : counters(analyzer).entrySet()) {
+            s.append(' ').append(counter.getKey()).append('=').append(counter.getValue());
+        }
+        return s.toString();
+    }
+}
@@ -19,6 +19,7 @@ import com.puppycrawl.tools.checkstyle.*;
 import com.puppycrawl.tools.checkstyle.api.*;
 import guru.nidi.codeassert.Analyzer;
 import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.Instrumentation;
 import guru.nidi.codeassert.config.AnalyzerConfig;
 import guru.nidi.codeassert.config.UsageCounter;
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import java.util.*;
 
 public class CheckstyleAnalyzer implements Analyzer<List<AuditEvent>> {
     private static final Logger LOG = LoggerFactory.getLogger(CheckstyleAnalyzer.class);
+    private static final String NAME = "checkstyle";
 
     private final AnalyzerConfig config;
     private final StyleChecks checks;
@@ -82,18 +84,26 @@ public class CheckstyleAnalyzer implements Analyzer<List<AuditEvent>> {
     }
 
     public CheckstyleResult analyze() {
+        final Instrumentation.Phase analyze = Instrumentation.start(NAME, Instrumentation.ANALYZE);
         final Checker checker = new Checker();
         try {
             final LoggingAuditListener listener = new LoggingAuditListener();
             checker.addListener(listener);
             checker.setModuleClassLoader(CheckstyleAnalyzer.class.getClassLoader());
             checker.configure(ConfigurationLoader.loadConfiguration(checks.location, createPropertyResolver()));
-            checker.process(config.getSources());
+            final Instrumentation.Phase check = Instrumentation.start(NAME, NAME);
+            try {
+                checker.process(config.getSources());
+            } finally {
+                check.end();
+            }
+            Instrumentation.countFiles(NAME, config.getSources());
             return createResult(listener.events);
         } catch (CheckstyleException e) {
             throw new AnalyzerException("Problem executing Checkstyle.", e);
         } finally {
             checker.destroy();
+            analyze.end();
         }
     }
 
@@ -125,17 +135,23 @@ public class CheckstyleAnalyzer implements Analyzer<List<AuditEvent>> {
     }
 
     private CheckstyleResult createResult(List<AuditEvent> events) {
+        final Instrumentation.Phase filter = Instrumentation.start(NAME, Instrumentation.FILTER);
         final List<AuditEvent> sorted = new ArrayList<>(events);
         Collections.sort(sorted, EVENT_SORTER);
-        final List<AuditEvent> filtered = new ArrayList<>();
+        final List<AuditEvent> issues = new ArrayList<>();
         final UsageCounter counter = new UsageCounter();
-        for (final AuditEvent event : sorted) {
-            if (counter.accept(collector.accept(event))) {
-                filtered.add(event);
+        try {
+            for (final AuditEvent event : sorted) {
+                if (counter.accept(collector.accept(event))) {
+                    issues.add(event);
+                }
             }
+        } finally {
+            filter.end();
         }
+        Instrumentation.countFindings(NAME, counter.getEvaluated(), issues.size(), counter.getUsedActions());
         collector.printUnusedWarning(counter);
-        return new CheckstyleResult(this, filtered, collector.unusedActions(counter));
+        return new CheckstyleResult(this, issues, collector.unusedActions(counter));
     }
 
 }
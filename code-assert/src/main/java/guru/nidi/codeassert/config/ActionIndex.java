@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import java.util.*;
+
+/**
+ * Finds the actions that can possibly match an issue with a given name,
+ * without evaluating all actions.
+ * The candidates are returned in configuration order,
+ * so the first action with the highest quality still wins.
+ *
+ * @param <A> the type of actions
+ */
+final class ActionIndex<A extends Action> {
+    private final List<A> actions = new ArrayList<>();
+    private final Map<String, BitSet> byName = new HashMap<>();
+    private final BitSet unindexed = new BitSet();
+
+    @SafeVarargs
+    ActionIndex(CollectorConfig<A>... configs) {
+        for (final CollectorConfig<A> config : configs) {
+            for (final A action : config.actions) {
+                add(action);
+            }
+        }
+    }
+
+    private void add(A action) {
+        final int pos = actions.size();
+        actions.add(action);
+        if (isIndexed(action)) {
+            for (final String name : ((Ignore) action).exactNames()) {
+                BitSet set = byName.get(name);
+                if (set == null) {
+                    set = new BitSet();
+                    byName.put(name, set);
+                }
+                set.set(pos);
+            }
+        } else {
+            unindexed.set(pos);
+        }
+    }
+
+    private boolean isIndexed(A action) {
+        return action instanceof Ignore && ((Ignore) action).exactNames() != null;
+    }
+
+    List<A> all() {
+        return Collections.unmodifiableList(actions);
+    }
+
+    List<A> candidates(String name) {
+        final BitSet positions = (BitSet) unindexed.clone();
+        final BitSet named = byName.get(name);
+        if (named != null) {
+            positions.or(named);
+        }
+        final List<A> res = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            res.add(actions.get(i));
+        }
+        return res;
+    }
+}
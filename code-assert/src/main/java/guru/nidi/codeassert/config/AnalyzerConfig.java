@@ -16,25 +16,34 @@
 package guru.nidi.codeassert.config;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AnalyzerConfig {
     private final List<Path> sources;
     private final List<Path> classes;
+    private final List<String> includes;
+    private final List<String> excludes;
+    private final AtomicReference<List<File>> sourceFiles = new AtomicReference<>();
+    private final AtomicReference<List<File>> classFiles = new AtomicReference<>();
 
     public AnalyzerConfig() {
         this(Collections.<Path>emptyList(), Collections.<Path>emptyList());
     }
 
     public AnalyzerConfig(AnalyzerConfig config) {
-        this(config.sources, config.classes);
+        this(config.sources, config.classes, config.includes, config.excludes);
     }
 
     protected AnalyzerConfig(List<Path> sources, List<Path> classes) {
+        this(sources, classes, Collections.<String>emptyList(), Collections.<String>emptyList());
+    }
+
+    private AnalyzerConfig(List<Path> sources, List<Path> classes, List<String> includes, List<String> excludes) {
         this.sources = sources;
         this.classes = classes;
+        this.includes = includes;
+        this.excludes = excludes;
     }
 
     public static Maven maven() {
@@ -56,11 +65,35 @@ public class AnalyzerConfig {
 
 
     public AnalyzerConfig withSources(File basedir, String... packages) {
-        return new AnalyzerConfig(join(sources, Path.of(basedir, packages)), classes);
+        return new AnalyzerConfig(join(sources, Path.of(basedir, packages)), classes, includes, excludes);
     }
 
     public AnalyzerConfig withClasses(File basedir, String... packages) {
-        return new AnalyzerConfig(sources, join(classes, Path.of(basedir, packages)));
+        return new AnalyzerConfig(sources, join(classes, Path.of(basedir, packages)), includes, excludes);
+    }
+
+    /**
+     * Only use the files matching any of the given glob patterns.
+     * The patterns are matched against the path relative to the base directory,
+     * e.g. {@code guru/nidi/**}.
+     *
+     * @param globs the patterns of the files to use
+     * @return an AnalyzerConfig with the given includes.
+     */
+    public AnalyzerConfig including(String... globs) {
+        return new AnalyzerConfig(sources, classes, join(includes, Arrays.asList(globs)), excludes);
+    }
+
+    /**
+     * Do not use the files and directories matching any of the given glob patterns.
+     * The patterns are matched against the path relative to the base directory,
+     * e.g. {@code **}{@code /generated}.
+     *
+     * @param globs the patterns of the files and directories not to use
+     * @return an AnalyzerConfig with the given excludes.
+     */
+    public AnalyzerConfig excluding(String... globs) {
+        return new AnalyzerConfig(sources, classes, includes, join(excludes, Arrays.asList(globs)));
     }
 
     public List<Path> getSourcePaths() {
@@ -71,38 +104,37 @@ public class AnalyzerConfig {
         return classes;
     }
 
+    /**
+     * The source files are searched only once per AnalyzerConfig,
+     * so all analyzers using the same config share the result.
+     *
+     * @return all java files in the source paths.
+     */
     public List<File> getSources() {
-        final List<File> files = new ArrayList<>();
-        for (final Path source : sources) {
-            crawlDir(new File(source.getPath()), ".java", files);
-        }
-        return files;
+        return files(sourceFiles, sources, ".java");
     }
 
+    /**
+     * The class files are searched only once per AnalyzerConfig,
+     * so all analyzers using the same config share the result.
+     *
+     * @return all class files in the class paths.
+     */
     public List<File> getClasses() {
-        final List<File> files = new ArrayList<>();
-        for (final Path clazz : classes) {
-            crawlDir(new File(clazz.getPath()), ".class", files);
-        }
-        return files;
+        return files(classFiles, classes, ".class");
     }
 
-    private void crawlDir(File base, String suffix, List<File> res) {
-        final File[] files = base.listFiles();
-        if (files != null) {
-            for (final File file : files) {
-                if (file.isFile() && file.getName().endsWith(suffix)) {
-                    res.add(file);
-                }
-                if (file.isDirectory()) {
-                    crawlDir(file, suffix, res);
-                }
-            }
+    private List<File> files(AtomicReference<List<File>> memo, List<Path> paths, String suffix) {
+        List<File> files = memo.get();
+        if (files == null) {
+            files = Collections.unmodifiableList(new FileCrawler(suffix, includes, excludes).crawl(paths));
+            memo.set(files);
         }
+        return files;
     }
 
-    private List<Path> join(List<Path> p1, List<Path> p2) {
-        final List<Path> res = new ArrayList<>(p1);
+    private static <T> List<T> join(List<T> p1, List<T> p2) {
+        final List<T> res = new ArrayList<>(p1);
         res.addAll(p2);
         return res;
     }
@@ -20,9 +20,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class BaseCollector<S, A extends Action, T extends BaseCollector<S, A, T>> {
     private static final Logger LOG = LoggerFactory.getLogger(BaseCollector.class);
+    private final AtomicReference<ActionIndex<A>> index = new AtomicReference<>();
 
     @SafeVarargs
     public final T because(String reason, A... actions) {
@@ -52,11 +54,11 @@ public abstract class BaseCollector<S, A extends Action, T extends BaseCollector
 
     @SafeVarargs
     protected final ActionResult accept(S issue, T parent, CollectorConfig<A>... configs) {
+        //with an indexed collector, only the actions possibly matching the issue's name are evaluated
         ActionResult res = ActionResult.undecided(null);
-        for (final CollectorConfig<A> config : configs) {
-            for (final A action : config.actions) {
-                res = res.orMoreQuality(doAccept(issue, action));
-            }
+        final Iterable<A> actions = candidates(issue, configs);
+        for (final A action : actions) {
+            res = res.orMoreQuality(doAccept(issue, action));
         }
         return res.orMoreQuality(parent.accept(issue));
     }
@@ -112,4 +114,15 @@ public abstract class BaseCollector<S, A extends Action, T extends BaseCollector
                 : Collections.<A>emptyList();
     }
 
+    //the index is immutable, so concurrently creating it more than once does no harm
+    private Iterable<A> candidates(S issue, CollectorConfig<A>... configs) {
+        ActionIndex<A> actionIndex = index.get();
+        if (actionIndex == null) {
+            actionIndex = new ActionIndex<>(configs);
+            index.set(actionIndex);
+        }
+        return this instanceof IndexedCollector
+                ? actionIndex.candidates(((IndexedCollector<S>) this).issueName(issue))
+                : actionIndex.all();
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import guru.nidi.codeassert.AnalyzerException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of known findings that should not be reported anymore.
+ * A finding is identified by its name, class, method and target (e.g. the target of a dependency),
+ * but not by line numbers, so the keys stay stable when unrelated code changes.
+ * A recording baseline can be used concurrently by multiple analyses.
+ * <pre>
+ * Baseline baseline = Baseline.load(new File("code-assert-baseline.txt"));
+ * new PmdAnalyzer(config, collector.just(baseline.ignore())).analyze();
+ * </pre>
+ * To create the baseline file, use {@link #record(File)}, run the analyses and call {@link #save()}.
+ */
+public final class Baseline {
+    private final File file;
+    private final boolean recording;
+    private final Set<String> keys;
+
+    private Baseline(File file, boolean recording, Set<String> keys) {
+        this.file = file;
+        this.recording = recording;
+        this.keys = keys;
+    }
+
+    /**
+     * @param file the baseline file, if it does not exist, the baseline is empty.
+     * @return a baseline containing the findings listed in the file.
+     */
+    public static Baseline load(File file) {
+        final Set<String> keys = ConcurrentHashMap.newKeySet();
+        if (file.exists()) {
+            try (final BufferedReader in = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    if (line.length() > 0) {
+                        keys.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                throw new AnalyzerException("Could not read baseline " + file, e);
+            }
+        }
+        return new Baseline(file, false, keys);
+    }
+
+    /**
+     * @param file the baseline file to be written by {@link #save()}.
+     * @return an empty baseline that adds (and ignores) all findings it sees.
+     */
+    public static Baseline record(File file) {
+        return new Baseline(file, true, ConcurrentHashMap.<String>newKeySet());
+    }
+
+    public Ignore ignore() {
+        return new BaselineIgnore();
+    }
+
+    public CollectorTemplate<Ignore> template() {
+        return CollectorTemplate.of(Ignore.class).just(ignore());
+    }
+
+    public boolean contains(NamedLocation loc) {
+        return keys.contains(key(loc));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public void save() {
+        final List<String> sorted = new ArrayList<>(keys);
+        Collections.sort(sorted);
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new AnalyzerException("Could not create directory " + dir);
+        }
+        try (final Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            for (final String key : sorted) {
+                out.write(key);
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new AnalyzerException("Could not write baseline " + file, e);
+        }
+    }
+
+    static String key(NamedLocation loc) {
+        final String key = escape(loc.name) + '|' + escape(loc.className) + '|' + escape(loc.method);
+        return loc.target == null || loc.target.length() == 0 ? key : key + '|' + escape(loc.target);
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+        return s.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("|", "\\|");
+    }
+
+    private class BaselineIgnore extends Ignore {
+        BaselineIgnore() {
+            super(Collections.<String>emptyList(), Collections.<String>emptyList());
+        }
+
+        @Override
+        public ActionResult accept(NamedLocation loc) {
+            final String key = key(loc);
+            if (recording) {
+                keys.add(key);
+            }
+            return ActionResult.rejectIfFalse(!keys.contains(key), this, 5);
+        }
+
+        @Override
+        public String toString() {
+            return "    ignore baseline " + file + " (" + keys.size() + " findings)";
+        }
+    }
+}
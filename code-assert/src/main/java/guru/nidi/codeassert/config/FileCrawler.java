@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import guru.nidi.codeassert.AnalyzerException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Finds all files with a given suffix, optionally filtered by glob patterns.
+ * The patterns are matched against the path relative to the base directory,
+ * e.g. {@code guru/nidi/**}.
+ * The top levels of the directory trees are traversed in parallel,
+ * the rest with {@link Files#walkFileTree}.
+ * Symbolic links to directories are followed, cycles of links are ignored.
+ */
+final class FileCrawler {
+    private static final int PARALLEL_DEPTH = 2;
+    private static final Set<FileVisitOption> FOLLOW_LINKS = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+
+    private final String suffix;
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+
+    FileCrawler(String suffix, List<String> includes, List<String> excludes) {
+        this.suffix = suffix;
+        this.includes = matchers(includes);
+        this.excludes = matchers(excludes);
+    }
+
+    private static List<PathMatcher> matchers(List<String> globs) {
+        final List<PathMatcher> res = new ArrayList<>();
+        for (final String glob : globs) {
+            res.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        }
+        return res;
+    }
+
+    List<File> crawl(List<AnalyzerConfig.Path> paths) {
+        final Queue<File> found = new ConcurrentLinkedQueue<>();
+        for (final AnalyzerConfig.Path path : paths) {
+            final Path dir = Paths.get(path.getPath());
+            if (Files.isDirectory(dir)) {
+                crawl(Paths.get(path.getBase()), dir, 0, found);
+            }
+        }
+        final List<File> res = new ArrayList<>(found);
+        Collections.sort(res);
+        return res;
+    }
+
+    private void crawl(final Path base, Path dir, final int depth, final Queue<File> found) {
+        try {
+            if (depth < PARALLEL_DEPTH) {
+                visitEntries(base, dir, found).parallelStream().forEach(new Consumer<Path>() {
+                    @Override
+                    public void accept(Path subDir) {
+                        crawl(base, subDir, depth + 1, found);
+                    }
+                });
+            } else {
+                walk(base, dir, found);
+            }
+        } catch (IOException e) {
+            throw new AnalyzerException("Could not crawl " + dir, e);
+        }
+    }
+
+    //visit the files of a directory and return its sub directories
+    private List<Path> visitEntries(Path base, Path dir, Queue<File> found) throws IOException {
+        final List<Path> subDirs = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (final Path entry : entries) {
+                if (Files.isDirectory(entry)) {
+                    if (!isExcluded(base.relativize(entry))) {
+                        subDirs.add(entry);
+                    }
+                } else {
+                    visit(base, entry, found);
+                }
+            }
+        }
+        return subDirs;
+    }
+
+    private void walk(final Path base, Path dir, final Queue<File> found) throws IOException {
+        Files.walkFileTree(dir, FOLLOW_LINKS, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) {
+                return isExcluded(base.relativize(subDir)) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                visit(base, file, found);
+                return FileVisitResult.CONTINUE;
+            }
+
+            //also called for cycles of symbolic links
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void visit(Path base, Path file, Queue<File> found) {
+        final Path relative = base.relativize(file);
+        if (file.toString().endsWith(suffix)
+                && (includes.isEmpty() || matchesAny(includes, relative)) && !isExcluded(relative)) {
+            found.add(file.toFile());
+        }
+    }
+
+    private boolean isExcluded(Path relative) {
+        return matchesAny(excludes, relative);
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path path) {
+        for (final PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
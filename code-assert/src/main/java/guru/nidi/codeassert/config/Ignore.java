@@ -15,6 +15,7 @@
  */
 package guru.nidi.codeassert.config;
 
+import java.util.Collection;
 import java.util.List;
 
 public class Ignore implements Action<NamedLocation> {
@@ -31,6 +32,15 @@ public class Ignore implements Action<NamedLocation> {
         return ActionResult.rejectIfFalse(!matches, this, 5);
     }
 
+    /**
+     * Get the names of this action, if they can be found by an exact lookup.
+     *
+     * @return the names, or null if some name has a wildcard.
+     */
+    Collection<String> exactNames() {
+        return matcher.exactNames();
+    }
+
     @Override
     public String toString() {
         return "    ignore " + matcher.toString();
@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+/**
+ * A collector whose issues are matched exactly by name.
+ * The collector's actions are then indexed by name,
+ * so only the actions for an issue's name are evaluated.
+ *
+ * @param <S> the type of issues
+ */
+public interface IndexedCollector<S> {
+    String issueName(S issue);
+}
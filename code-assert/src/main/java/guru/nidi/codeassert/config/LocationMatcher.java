@@ -31,6 +31,9 @@ public class LocationMatcher implements Comparable<LocationMatcher> {
     private final String packagePat;
     private final String classPat;
     private final String methodPat;
+    private final NamePattern packageMatch;
+    private final NamePattern classMatch;
+    private final NamePattern methodMatch;
 
     public LocationMatcher(String pattern) {
         if (pattern == null || pattern.length() == 0) {
@@ -57,30 +60,53 @@ public class LocationMatcher implements Comparable<LocationMatcher> {
         checkPattern(packagePat);
         checkPattern(classPat);
         checkPattern(methodPat);
+        packageMatch = NamePattern.of(packagePat);
+        classMatch = NamePattern.of(classPat);
+        methodMatch = NamePattern.of(methodPat);
     }
 
     public boolean matchesPackage(String packageName) {
-        return matchesPattern(packagePat, packageName)
-                && matchesAll(classPat) && matchesAll(methodPat);
+        return packageMatch.matches(packageName) && classMatch.isAny() && methodMatch.isAny();
     }
 
     public boolean matchesClass(String className) {
         final int pos = className.lastIndexOf('.');
         return pos < 0
-                ? matchesAll(methodPat) && matchesAll(packagePat) && matchesClassPattern(classPat, className)
-                : matchesPackageClass(className.substring(0, pos), className.substring(pos + 1));
+                ? methodMatch.isAny() && packageMatch.isAny() && matchesClassPattern(className, 0)
+                : packageMatch.matches(className, 0, pos) && matchesClassPattern(className, pos + 1)
+                && methodMatch.isAny();
     }
 
     public boolean matchesPackageClass(String packageName, String className) {
-        return matchesPattern(packagePat, packageName)
-                && matchesClassPattern(classPat, className) && matchesAll(methodPat);
+        return packageMatch.matches(packageName) && matchesClassPattern(className, 0) && methodMatch.isAny();
     }
 
     public boolean matches(String packageName, String className, String methodName) {
-        final boolean matchesClass = matchesAll(methodPat)
-                ? matchesClassPattern(classPat, className)
-                : matchesPattern(classPat, className);
-        return matchesPattern(packagePat, packageName) && matchesClass && matchesPattern(methodPat, methodName);
+        final boolean matchesClass = methodMatch.isAny()
+                ? matchesClassPattern(className, 0)
+                : classMatch.matches(className);
+        return packageMatch.matches(packageName) && matchesClass && methodMatch.matches(methodName);
+    }
+
+    /**
+     * Check without any code if there could be a location matched by this and another matcher.
+     *
+     * @param other the other matcher
+     * @return if both matchers could match the same location.
+     */
+    public boolean overlaps(LocationMatcher other) {
+        return PatternOverlap.overlaps(parts(), other.parts());
+    }
+
+    private String[] parts() {
+        return new String[]{packagePat, classPat, methodPat};
+    }
+
+    /**
+     * @return if this matcher can match packages or classes, as opposed to only methods.
+     */
+    public boolean matchesTypes() {
+        return methodMatch.isAny();
     }
 
     public int specificity() {
@@ -105,35 +131,21 @@ public class LocationMatcher implements Comparable<LocationMatcher> {
         return pattern;
     }
 
-    private boolean matchesAll(String pattern) {
+    static boolean matchesAll(String pattern) {
         return pattern.length() == 0 || "*".equals(pattern);
     }
 
-    private boolean matchesClassPattern(String pat, String name) {
-        if (matchesPattern(pat, name)) {
+    //an inner class is also matched by the pattern of its outer class
+    private boolean matchesClassPattern(String name, int from) {
+        if (classMatch.matches(name, from, name.length())) {
             return true;
         }
-        final int pos = name.indexOf('$');
-        if (pos >= 0) {
-            return matchesPattern(pat, name.substring(0, pos));
-        }
-        return false;
+        final int pos = name.indexOf('$', from);
+        return pos >= 0 && classMatch.matches(name, from, pos);
     }
 
     static boolean matchesPattern(String pat, String name) {
-        if (pat.length() == 0) {
-            return true;
-        }
-        if (pat.startsWith("*") && pat.endsWith("*")) {
-            return pat.length() == 1 || name.contains(pat.substring(1, pat.length() - 1));
-        }
-        if (pat.startsWith("*")) {
-            return name.endsWith(pat.substring(1));
-        }
-        if (pat.endsWith("*")) {
-            return name.startsWith(pat.substring(0, pat.length() - 1));
-        }
-        return name.equals(pat);
+        return NamePattern.of(pat).matches(name);
     }
 
     private void checkPattern(String pattern) {
@@ -16,6 +16,7 @@
 package guru.nidi.codeassert.config;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,8 @@ import java.util.List;
 public class LocationNameMatcher {
     private final List<LocationMatcher> matchers;
     private final List<String> names;
+    private final List<NamePattern> strictNames;
+    private final List<NamePattern> containedNames;
 
     /**
      * Empty lists match any input.
@@ -41,6 +44,12 @@ public class LocationNameMatcher {
             this.matchers.add(new LocationMatcher(loc));
         }
         this.names = names;
+        strictNames = new ArrayList<>();
+        containedNames = new ArrayList<>();
+        for (final String name : names) {
+            strictNames.add(NamePattern.of(name));
+            containedNames.add(NamePattern.of(createPattern(name)));
+        }
     }
 
     /**
@@ -51,44 +60,37 @@ public class LocationNameMatcher {
      * @return If name and location (className and method) both match any of the predefined names and locations.
      */
     public boolean matches(String name, String className, String methodName, boolean strictNameMatch) {
-        if (matchers.isEmpty()) {
-            return matchesName(name, strictNameMatch);
+        if (!matchesName(name, strictNameMatch)) {
+            return false;
         }
+        return matchers.isEmpty() || matchesLocation(className, methodName);
+    }
+
+    private boolean matchesLocation(String className, String methodName) {
+        final int pos = className.lastIndexOf('.');
+        final String packageName = pos < 0 ? "" : className.substring(0, pos);
+        final String simpleName = className.substring(pos + 1);
         for (final LocationMatcher matcher : matchers) {
-            if (matches(matcher, name, className, methodName, strictNameMatch)) {
+            if (matcher.matches(packageName, simpleName, methodName)) {
                 return true;
             }
         }
         return false;
     }
 
-    private boolean matches(LocationMatcher matcher, String name, String className,
-                            String methodName, boolean strictNameMatch) {
-        if (!matchesName(name, strictNameMatch)) {
-            return false;
-        }
-        final int pos = className.lastIndexOf('.');
-        return pos < 0
-                ? matcher.matches("", className, methodName)
-                : matcher.matches(className.substring(0, pos), className.substring(pos + 1), methodName);
-    }
-
     private boolean matchesName(String name, boolean strictNameMatch) {
         if (names.isEmpty()) {
             return true;
         }
-        for (final String n : names) {
-            if (LocationMatcher.matchesPattern(createPattern(n, strictNameMatch), name)) {
+        for (final NamePattern pattern : strictNameMatch ? strictNames : containedNames) {
+            if (pattern.matches(name)) {
                 return true;
             }
         }
         return false;
     }
 
-    private String createPattern(String pattern, boolean strictPattern) {
-        if (strictPattern) {
-            return pattern;
-        }
+    private static String createPattern(String pattern) {
         String wildcarded = pattern;
         if (!pattern.startsWith("*")) {
             wildcarded = "*" + wildcarded;
@@ -99,6 +101,23 @@ public class LocationNameMatcher {
         return wildcarded;
     }
 
+    /**
+     * Get the names to match, if they can be found by an exact lookup.
+     *
+     * @return the names, or null if any name is matched or some name has a wildcard.
+     */
+    Collection<String> exactNames() {
+        if (names.isEmpty()) {
+            return null;
+        }
+        for (final String name : names) {
+            if (name.contains("*")) {
+                return null;
+            }
+        }
+        return names;
+    }
+
     @Override
     public String toString() {
         return (names.isEmpty() ? "all" : names) + " in " + (matchers.isEmpty() ? "everywhere" : matchers);
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+/**
+ * A compiled pattern with an optional wildcard at the beginning and/or end.
+ * Matching works on a region of a name, so no substrings have to be created.
+ */
+final class NamePattern {
+    private static final int ANY = 0;
+    private static final int EXACT = 1;
+    private static final int PREFIX = 2;
+    private static final int SUFFIX = 3;
+    private static final int CONTAINS = 4;
+    private static final NamePattern MATCH_ALL = new NamePattern(ANY, "");
+
+    private final int kind;
+    private final String needle;
+
+    private NamePattern(int kind, String needle) {
+        this.kind = kind;
+        this.needle = needle;
+    }
+
+    static NamePattern of(String pat) {
+        final int len = pat.length();
+        if (len == 0 || "*".equals(pat)) {
+            return MATCH_ALL;
+        }
+        final boolean start = pat.charAt(0) == '*';
+        final boolean end = pat.charAt(len - 1) == '*';
+        if (start && end) {
+            return new NamePattern(CONTAINS, pat.substring(1, len - 1));
+        }
+        if (start) {
+            return new NamePattern(SUFFIX, pat.substring(1));
+        }
+        return end ? new NamePattern(PREFIX, pat.substring(0, len - 1)) : new NamePattern(EXACT, pat);
+    }
+
+    boolean isAny() {
+        return kind == ANY;
+    }
+
+    boolean matches(String name) {
+        return isAny() || matches(name, 0, name.length());
+    }
+
+    /**
+     * @param name the name to match
+     * @param from the start of the region to match, inclusive
+     * @param to   the end of the region to match, exclusive
+     * @return if the region of the name is matched by this pattern.
+     */
+    boolean matches(String name, int from, int to) {
+        final int len = needle.length();
+        switch (kind) {
+            case EXACT:
+                return to - from == len && name.regionMatches(from, needle, 0, len);
+            case PREFIX:
+                return to - from >= len && name.regionMatches(from, needle, 0, len);
+            case SUFFIX:
+                return to - from >= len && name.regionMatches(to - len, needle, 0, len);
+            case CONTAINS:
+                //the first occurrence is the only candidate to end inside the region
+                final int pos = name.indexOf(needle, from);
+                return pos >= 0 && pos + len <= to;
+            default:
+                return true;
+        }
+    }
+}
@@ -19,12 +19,29 @@ public class NamedLocation {
     final String name;
     final String className;
     final String method;
+    final String target;
     final boolean strictNameMatch;
 
     public NamedLocation(String name, String className, String method, boolean strictNameMatch) {
+        this(name, className, method, "", strictNameMatch);
+    }
+
+    /**
+     * Create a location that also refers to a target,
+     * e.g. the target of a dependency or the members of a cycle.
+     * The target is not used for matching, but it distinguishes findings in a {@link Baseline}.
+     *
+     * @param name            the name of the finding
+     * @param className       the class of the finding
+     * @param method          the method of the finding
+     * @param target          the target of the finding
+     * @param strictNameMatch if the name must match exactly
+     */
+    public NamedLocation(String name, String className, String method, String target, boolean strictNameMatch) {
         this.name = name;
         this.className = className;
         this.method = method;
+        this.target = target;
         this.strictNameMatch = strictNameMatch;
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import static guru.nidi.codeassert.config.LocationMatcher.matchesAll;
+import static guru.nidi.codeassert.config.LocationMatcher.matchesPattern;
+
+final class PatternOverlap {
+    private PatternOverlap() {
+    }
+
+    static boolean overlaps(String[] parts1, String[] parts2) {
+        for (int i = 0; i < parts1.length; i++) {
+            if (!overlaps(parts1[i], parts2[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param p1 a pattern with an optional wildcard at the beginning and/or end
+     * @param p2 another pattern
+     * @return if there is a name matched by both patterns.
+     */
+    static boolean overlaps(String p1, String p2) {
+        if (matchesAll(p1) || matchesAll(p2)) {
+            return true;
+        }
+        if (!p1.contains("*")) {
+            return matchesPattern(p2, p1);
+        }
+        if (!p2.contains("*")) {
+            return matchesPattern(p1, p2);
+        }
+        if (!p1.startsWith("*") && !p2.startsWith("*")) {
+            return startsWithOther(p1.replace("*", ""), p2.replace("*", ""));
+        }
+        if (!p1.endsWith("*") && !p2.endsWith("*")) {
+            return endsWithOther(p1.replace("*", ""), p2.replace("*", ""));
+        }
+        return true;
+    }
+
+    private static boolean startsWithOther(String s1, String s2) {
+        return s1.startsWith(s2) || s2.startsWith(s1);
+    }
+
+    private static boolean endsWithOther(String s1, String s2) {
+        return s1.endsWith(s2) || s2.endsWith(s1);
+    }
+}
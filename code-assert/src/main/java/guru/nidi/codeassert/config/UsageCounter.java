@@ -15,20 +15,68 @@
  */
 package guru.nidi.codeassert.config;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Counts how often the actions of a collector have been used.
+ * It can be used concurrently,
+ * so the findings of parallel analyses can be filtered with the same counter.
+ */
 public class UsageCounter {
-    private final Map<Action<?>, Integer> usage = new HashMap<>();
+    //the null action is the base filtering of a collector, but a ConcurrentHashMap has no null keys
+    private static final Object NULL_ACTION = new Object();
+    private final ConcurrentMap<Object, LongAdder> usage = new ConcurrentHashMap<>();
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
 
     public int getCount(Action<?> action) {
-        final Integer c = usage.get(action);
-        return c == null ? 0 : c;
+        final LongAdder count = usage.get(key(action));
+        return count == null ? 0 : count.intValue();
     }
 
     public boolean accept(ActionResult accept) {
-        final Integer count = usage.get(accept.action);
-        usage.put(accept.action, (count == null ? 0 : count) + 1);
+        final Object key = key(accept.action);
+        final LongAdder count = usage.get(key);
+        (count == null ? newCount(key) : count).increment();
+        evaluated.increment();
+        if (accept.accept) {
+            accepted.increment();
+        }
         return accept.accept;
     }
+
+    /**
+     * The number of findings that have been given to {@link #accept(ActionResult)}.
+     *
+     * @return the number of findings before filtering.
+     */
+    public long getEvaluated() {
+        return evaluated.sum();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * The number of actions that have been used at least once,
+     * the base filtering of the collector excluded.
+     *
+     * @return the number of used actions.
+     */
+    public int getUsedActions() {
+        return usage.size() - (usage.containsKey(NULL_ACTION) ? 1 : 0);
+    }
+
+    private LongAdder newCount(Object key) {
+        final LongAdder count = new LongAdder();
+        final LongAdder existing = usage.putIfAbsent(key, count);
+        return existing == null ? count : existing;
+    }
+
+    private static Object key(Action<?> action) {
+        return action == null ? NULL_ACTION : action;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.AnalyzerException;
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static guru.nidi.codeassert.dependency.MatcherUtils.NL;
+
+/**
+ * A matcher whose mismatch description can be limited in size.
+ * With a limit, only the first elements of each category are described, followed by the total count.
+ * With a report file, the full description is additionally written to the file.
+ *
+ * @param <M> the type of the matcher
+ */
+public abstract class BoundedResultMatcher<M extends BoundedResultMatcher<M>>
+        extends TypeSafeMatcher<DependencyResult> {
+    private final int limit;
+    private final File report;
+
+    BoundedResultMatcher(int limit, File report) {
+        this.limit = limit;
+        this.report = report;
+    }
+
+    /**
+     * @param limit the maximum number of elements described per category
+     * @return A matcher with a limited mismatch description.
+     */
+    public M limitedTo(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        return copy(limit, report);
+    }
+
+    /**
+     * @param report the file to write the full mismatch description to
+     * @return A matcher writing the full mismatch description to the given file.
+     */
+    public M reportingTo(File report) {
+        return copy(limit, report);
+    }
+
+    abstract M copy(int limit, File report);
+
+    abstract void describe(Dependencies findings, Writer out, int limit) throws IOException;
+
+    @Override
+    protected void describeMismatchSafely(DependencyResult item, Description description) {
+        final StringWriter out = new StringWriter();
+        out.write("\n");
+        try {
+            describe(item.findings(), out, limit);
+            if (report != null) {
+                writeReport(item.findings());
+                out.write("Full report written to " + report + NL);
+            }
+        } catch (IOException e) {
+            throw new AnalyzerException("Could not write report " + report, e);
+        }
+        description.appendText(out.toString());
+    }
+
+    private void writeReport(Dependencies findings) throws IOException {
+        final Path path = report.toPath().toAbsolutePath();
+        final Path dir = path.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        try (final Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            describe(findings, out, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -58,6 +58,19 @@ public class Dependencies {
         allowed.clear();
     }
 
+    public boolean isDenied(String from, String to) {
+        return denied.contains(from, to);
+    }
+
+    public boolean isInCycle(String from, String to) {
+        for (final DependencyMap cycle : cycles) {
+            if (cycle.contains(from, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public DependencyMap getAllowed() {
         return allowed;
     }
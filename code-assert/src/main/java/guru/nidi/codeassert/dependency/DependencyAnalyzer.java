@@ -16,6 +16,7 @@
 package guru.nidi.codeassert.dependency;
 
 import guru.nidi.codeassert.Analyzer;
+import guru.nidi.codeassert.Instrumentation;
 import guru.nidi.codeassert.config.*;
 import guru.nidi.codeassert.model.Model;
 import guru.nidi.codeassert.model.Scope;
@@ -25,66 +26,171 @@ import java.util.*;
 import static guru.nidi.codeassert.dependency.DependencyCollector.*;
 
 public class DependencyAnalyzer implements Analyzer<Dependencies> {
+    static final String NAME = "dependency";
     private static final String DUMMY_CLASS = ".DummyClass";
 
     private final Model model;
     private final DependencyRules rules;
     private final Scope scope;
     private final DependencyCollector collector;
+    private final int maxViolations;
 
     public DependencyAnalyzer(AnalyzerConfig config) {
-        this(Model.from(config.getClasses()), DependencyRules.denyAll(), Scope.PACKAGES, new DependencyCollector());
+        this(Model.from(config.getClasses()));
     }
 
     public DependencyAnalyzer(Model model) {
-        this(model, DependencyRules.denyAll(), Scope.PACKAGES, new DependencyCollector());
+        this(model, DependencyRules.denyAll(), Scope.PACKAGES, new DependencyCollector(), Integer.MAX_VALUE);
     }
 
-    private DependencyAnalyzer(Model model, DependencyRules rules, Scope scope, DependencyCollector collect) {
+    private DependencyAnalyzer(Model model, DependencyRules rules, Scope scope, DependencyCollector collect,
+                               int maxViolations) {
         this.model = model;
         this.rules = rules;
         this.scope = scope;
         this.collector = collect;
+        this.maxViolations = maxViolations;
     }
 
     public DependencyAnalyzer rules(DependencyRules rules) {
-        return new DependencyAnalyzer(model, rules, scope, collector);
+        return new DependencyAnalyzer(model, rules, scope, collector, maxViolations);
     }
 
     public DependencyAnalyzer scope(Scope scope) {
-        return new DependencyAnalyzer(model, rules, scope, collector);
+        return new DependencyAnalyzer(model, rules, scope, collector, maxViolations);
     }
 
     public DependencyAnalyzer collector(DependencyCollector collector) {
-        return new DependencyAnalyzer(model, rules, scope, collector);
+        return new DependencyAnalyzer(model, rules, scope, collector, maxViolations);
+    }
+
+    /**
+     * Stop the analysis as soon as the given number of violations per category have been found.
+     * Violations ignored by the collector do not count.
+     * The result then contains at most this number of violations per category.
+     *
+     * @param maxViolations the maximum number of violations to search for per category
+     * @return a DependencyAnalyzer with the given maximum.
+     */
+    public DependencyAnalyzer maxViolations(int maxViolations) {
+        if (maxViolations <= 0) {
+            throw new IllegalArgumentException("maxViolations must be positive");
+        }
+        return new DependencyAnalyzer(model, rules, scope, collector, maxViolations);
+    }
+
+    public DependencyAnalyzer failFast() {
+        return maxViolations(1);
+    }
+
+    public DependencyAnalyzer fullAnalysis() {
+        return new DependencyAnalyzer(model, rules, scope, collector, Integer.MAX_VALUE);
     }
 
     @Override
     public DependencyResult analyze() {
-        final Dependencies dependencies = rules.analyzeRules(scope.in(model));
-        final UsageCounter counter = new UsageCounter();
-        final Dependencies filtered = new Dependencies(new DependencyMap(), new DependencyMap(), new DependencyMap(),
-                handleNotExisting(dependencies, counter),
-                handleUndefined(dependencies, counter),
-                handleCycles(dependencies, counter));
-        handleMissing(dependencies, counter, filtered);
-        handleDenied(dependencies, counter, filtered);
-        collector.printUnusedWarning(counter);
-        return new DependencyResult(this, filtered, collector.unusedActions(counter));
+        return analyzeScopes(scope).get(scope);
     }
 
-    private void handleMissing(Dependencies dependencies, UsageCounter counter, Dependencies filtered) {
-        for (final String name : dependencies.missing.getElements()) {
-            if (counter.accept(collector.accept(new DependencyEntry(MISSING, className(name))))) {
-                filtered.missing.with(name, dependencies.missing);
+    /**
+     * Analyze multiple scopes, e.g. {@link Scope#PACKAGES} and {@link Scope#CLASSES}.
+     * The package and the class scope are analyzed in a single pass over the model,
+     * the class cycles spanning multiple packages are reused to find the package cycles.
+     * The usage of the collector's actions is counted over all scopes,
+     * so an action needed by only one of the scopes is not reported as unused.
+     *
+     * @param scopes the scopes to analyze, each kind of scope at most once
+     * @return the results in the order of the given scopes.
+     */
+    public Map<Scope<?>, DependencyResult> analyzeScopes(Scope<?>... scopes) {
+        final Set<Class<?>> kinds = new HashSet<>();
+        for (final Scope<?> s : scopes) {
+            if (!kinds.add(s.getClass())) {
+                throw new IllegalArgumentException(
+                        "Scope " + s.getClass().getSimpleName() + " is given more than once");
             }
         }
+        final Instrumentation.Phase analyze = Instrumentation.start(NAME, Instrumentation.ANALYZE);
+        try {
+            final UsageCounter counter = new UsageCounter();
+            final Map<DependencyAnalyzer, Dependencies> findings = analyzeRules(scopes);
+            for (final Map.Entry<DependencyAnalyzer, Dependencies> finding : findings.entrySet()) {
+                finding.setValue(finding.getKey().filter(finding.getValue(), counter));
+            }
+            Instrumentation.countFindings(NAME, counter.getEvaluated(), counter.getAccepted(),
+                    counter.getUsedActions());
+            final List<String> unusedActions = unusedActions(counter);
+            final Map<Scope<?>, DependencyResult> res = new LinkedHashMap<>();
+            for (final Map.Entry<DependencyAnalyzer, Dependencies> finding : findings.entrySet()) {
+                final DependencyAnalyzer analyzer = finding.getKey();
+                res.put(analyzer.scope, new DependencyResult(analyzer, finding.getValue(), unusedActions));
+            }
+            return res;
+        } finally {
+            analyze.end();
+        }
+    }
+
+    private Map<DependencyAnalyzer, Dependencies> analyzeRules(Scope<?>... scopes) {
+        final ModelEvaluator evaluator = new ModelEvaluator(model, rules);
+        final List<DependencyAnalyzer> analyzers = new ArrayList<>();
+        for (final Scope<?> s : scopes) {
+            final DependencyAnalyzer analyzer = scope(s);
+            analyzers.add(analyzer);
+            evaluator.add(s, analyzer.budget());
+        }
+        evaluator.analyze();
+        final Map<DependencyAnalyzer, Dependencies> res = new LinkedHashMap<>();
+        for (final DependencyAnalyzer analyzer : analyzers) {
+            res.put(analyzer, evaluator.getResult(analyzer.scope));
+        }
+        return res;
+    }
+
+    private ViolationBudget budget() {
+        return new ViolationBudget(maxViolations, this);
+    }
+
+    private Dependencies filter(Dependencies dependencies, UsageCounter counter) {
+        final Instrumentation.Phase filter = Instrumentation.start(NAME, Instrumentation.FILTER);
+        try {
+            final Dependencies filtered = new Dependencies(new DependencyMap(), new DependencyMap(),
+                    new DependencyMap(),
+                    handleNotExisting(dependencies, counter),
+                    handleUndefined(dependencies, counter),
+                    handleCycles(dependencies, counter));
+            handleMissing(dependencies, counter, filtered);
+            handleDenied(dependencies, counter, filtered);
+            return filtered;
+        } finally {
+            filter.end();
+        }
+    }
+
+    private List<String> unusedActions(UsageCounter counter) {
+        if (maxViolations < Integer.MAX_VALUE) {
+            //not all elements have been analyzed, so unused actions are meaningless
+            return Collections.emptyList();
+        }
+        collector.printUnusedWarning(counter);
+        return collector.unusedActions(counter);
+    }
+
+    private void handleMissing(Dependencies dependencies, UsageCounter counter, Dependencies filtered) {
+        handleEdges(MISSING, dependencies.missing, counter, filtered.missing);
     }
 
     private void handleDenied(Dependencies dependencies, UsageCounter counter, Dependencies filtered) {
-        for (final String name : dependencies.denied.getElements()) {
-            if (counter.accept(collector.accept(new DependencyEntry(DENIED, className(name))))) {
-                filtered.denied.with(name, dependencies.denied);
+        handleEdges(DENIED, dependencies.denied, counter, filtered.denied);
+    }
+
+    private void handleEdges(String type, DependencyMap edges, UsageCounter counter, DependencyMap filtered) {
+        for (final String from : edges.getElements()) {
+            for (final Map.Entry<String, DependencyMap.Info> to : edges.getDependencies(from).entrySet()) {
+                if (accept(type, from, to.getKey(), counter)) {
+                    final DependencyMap.Info info = to.getValue();
+                    filtered.with(info.getSpecificity(), from, info.getVias(), to.getKey());
+                }
             }
         }
     }
@@ -93,10 +199,11 @@ public class DependencyAnalyzer implements Analyzer<Dependencies> {
         final Set<DependencyMap> res = new HashSet<>();
         for (final DependencyMap cycle : dependencies.cycles) {
             final DependencyMap map = new DependencyMap();
+            final String members = cycle.getSortedElements();
             for (final String from : cycle.getElements()) {
-                if (counter.accept(collector.accept(new DependencyEntry(CYCLE, className(from))))) {
+                if (accept(CYCLE, from, members, counter)) {
                     for (final Map.Entry<String, DependencyMap.Info> to : cycle.getDependencies(from).entrySet()) {
-                        if (counter.accept(collector.accept(new DependencyEntry(CYCLE, className(to.getKey()))))) {
+                        if (accept(CYCLE, to.getKey(), members, counter)) {
                             map.with(to.getValue().getSpecificity(), from, to.getValue().getVias(), to.getKey());
                         }
                     }
@@ -112,7 +219,7 @@ public class DependencyAnalyzer implements Analyzer<Dependencies> {
     private Set<String> handleUndefined(Dependencies dependencies, UsageCounter counter) {
         final Set<String> res = new HashSet<>();
         for (final String name : dependencies.undefined) {
-            if (counter.accept(collector.accept(new DependencyEntry(UNDEFINED, className(name))))) {
+            if (accept(UNDEFINED, name, counter)) {
                 res.add(name);
             }
         }
@@ -122,13 +229,21 @@ public class DependencyAnalyzer implements Analyzer<Dependencies> {
     private Set<LocationMatcher> handleNotExisting(Dependencies dependencies, UsageCounter counter) {
         final Set<LocationMatcher> res = new HashSet<>();
         for (final LocationMatcher name : dependencies.notExisting) {
-            if (counter.accept(collector.accept(new DependencyEntry(NOT_EXISTING, className(name))))) {
+            if (accept(NOT_EXISTING, name, counter)) {
                 res.add(name);
             }
         }
         return res;
     }
 
+    private boolean accept(String type, Object name, UsageCounter counter) {
+        return accept(type, name, "", counter);
+    }
+
+    boolean accept(String type, Object name, String target, UsageCounter counter) {
+        return counter.accept(collector.accept(new DependencyEntry(type, className(name), target)));
+    }
+
     private String className(Object name) {
         //TODO not nice
         return scope instanceof Scope.Packages ? name + DUMMY_CLASS : name.toString();
@@ -20,7 +20,8 @@ import guru.nidi.codeassert.util.ListUtils;
 
 import java.util.List;
 
-public class DependencyCollector extends BaseCollector<DependencyEntry, Ignore, DependencyCollector> {
+public class DependencyCollector extends BaseCollector<DependencyEntry, Ignore, DependencyCollector>
+        implements IndexedCollector<DependencyEntry> {
     public static final String MISSING = "MISSING";
     public static final String DENIED = "DENIED";
     public static final String NOT_EXISTING = "NOT_EXISTING";
@@ -51,9 +52,14 @@ public class DependencyCollector extends BaseCollector<DependencyEntry, Ignore,
         return new ActionResult(true, null, 1);
     }
 
+    @Override
+    public String issueName(DependencyEntry result) {
+        return result.name;
+    }
+
     @Override
     protected ActionResult doAccept(DependencyEntry result, Ignore action) {
-        final NamedLocation loc = new NamedLocation(result.name, result.className, "", true);
+        final NamedLocation loc = new NamedLocation(result.name, result.className, "", result.target, true);
         return action.accept(loc);
     }
 
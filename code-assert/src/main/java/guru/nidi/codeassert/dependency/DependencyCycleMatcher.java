@@ -16,16 +16,28 @@
 package guru.nidi.codeassert.dependency;
 
 import org.hamcrest.Description;
-import org.hamcrest.TypeSafeMatcher;
 
+import java.io.*;
 import java.util.*;
 
 import static guru.nidi.codeassert.dependency.DependencyCollector.CYCLE;
-import static guru.nidi.codeassert.dependency.MatcherUtils.deps;
-import static guru.nidi.codeassert.dependency.MatcherUtils.sorted;
+import static guru.nidi.codeassert.dependency.MatcherUtils.*;
 
-public class DependencyCycleMatcher extends TypeSafeMatcher<DependencyResult> {
-    private static final Comparator<DependencyMap> DEP_MAP_COMPARATOR = new DependencyMapComparator();
+public class DependencyCycleMatcher extends BoundedResultMatcher<DependencyCycleMatcher> {
+    private static final Comparator<SortedCycle> CYCLE_COMPARATOR = new SortedCycleComparator();
+
+    public DependencyCycleMatcher() {
+        this(Integer.MAX_VALUE, null);
+    }
+
+    private DependencyCycleMatcher(int limit, File report) {
+        super(limit, report);
+    }
+
+    @Override
+    DependencyCycleMatcher copy(int limit, File report) {
+        return new DependencyCycleMatcher(limit, report);
+    }
 
     @Override
     protected boolean matchesSafely(DependencyResult item) {
@@ -37,34 +49,44 @@ public class DependencyCycleMatcher extends TypeSafeMatcher<DependencyResult> {
     }
 
     @Override
-    protected void describeMismatchSafely(DependencyResult item, Description description) {
-        description.appendText("\n");
-        final Set<DependencyMap> result = item.findings().getCycles();
-        for (final DependencyMap cycle : sortedDepMaps(result)) {
-            description.appendText(String.format("%-12s %s%n", CYCLE,
-                    "This group of elements has mutual dependencies:"));
-            for (final String elem : sorted(cycle.getElements())) {
-                description.appendText("  " + elem + " ->\n");
-                description.appendText(deps("    ", cycle.getDependencies(elem)));
+    void describe(Dependencies findings, Writer out, int limit) throws IOException {
+        final Set<DependencyMap> cycles = findings.getCycles();
+        for (final SortedCycle cycle : smallest(sortedCycles(cycles), limit, CYCLE_COMPARATOR)) {
+            out.write(pad(CYCLE, 12) + " This group of elements has mutual dependencies:" + NL);
+            for (final String elem : cycle.elems) {
+                out.write("  " + elem + " ->\n");
+                deps(out, "    ", cycle.map.getDependencies(elem));
             }
         }
+        more(out, CYCLE, cycles.size(), limit);
+    }
+
+    // sort the elements of each cycle only once, not on every comparison
+    private static List<SortedCycle> sortedCycles(Collection<DependencyMap> maps) {
+        final List<SortedCycle> cycles = new ArrayList<>();
+        for (final DependencyMap map : maps) {
+            cycles.add(new SortedCycle(map));
+        }
+        return cycles;
     }
 
-    private static List<DependencyMap> sortedDepMaps(Collection<DependencyMap> maps) {
-        final List<DependencyMap> sorted = new ArrayList<>(maps);
-        Collections.sort(sorted, DEP_MAP_COMPARATOR);
-        return sorted;
+    private static class SortedCycle {
+        final DependencyMap map;
+        final List<String> elems;
+
+        SortedCycle(DependencyMap map) {
+            this.map = map;
+            elems = sorted(map.getElements());
+        }
     }
 
-    private static class DependencyMapComparator implements Comparator<DependencyMap> {
+    private static class SortedCycleComparator implements Comparator<SortedCycle> {
         @Override
-        public int compare(DependencyMap d1, DependencyMap d2) {
-            final Iterator<String> i1 = sorted(d1.getElements()).iterator();
-            final Iterator<String> i2 = sorted(d2.getElements()).iterator();
+        public int compare(SortedCycle c1, SortedCycle c2) {
+            final Iterator<String> i1 = c1.elems.iterator();
+            final Iterator<String> i2 = c2.elems.iterator();
             while (i1.hasNext() && i2.hasNext()) {
-                final String s1 = i1.next();
-                final String s2 = i2.next();
-                final int c = s1.compareTo(s2);
+                final int c = i1.next().compareTo(i2.next());
                 if (c != 0) {
                     return c;
                 }
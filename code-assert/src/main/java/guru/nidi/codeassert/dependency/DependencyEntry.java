@@ -18,9 +18,11 @@ package guru.nidi.codeassert.dependency;
 class DependencyEntry {
     final String name;
     final String className;
+    final String target;
 
-    DependencyEntry(String name, String className) {
+    DependencyEntry(String name, String className, String target) {
         this.name = name;
         this.className = className;
+        this.target = target;
     }
 }
@@ -108,6 +108,18 @@ class DependencyMap {
         return map.get(name);
     }
 
+    public boolean contains(String from, String to) {
+        final Map<String, Info> deps = map.get(from);
+        return deps != null && deps.containsKey(to);
+    }
+
+    //identifies a cycle independently of the element it starts with
+    String getSortedElements() {
+        final List<String> elements = new ArrayList<>(map.keySet());
+        Collections.sort(elements);
+        return String.join(",", elements);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -16,22 +16,32 @@
 package guru.nidi.codeassert.dependency;
 
 import org.hamcrest.Description;
-import org.hamcrest.TypeSafeMatcher;
+
+import java.io.*;
+import java.util.Set;
 
 import static guru.nidi.codeassert.dependency.DependencyCollector.*;
 import static guru.nidi.codeassert.dependency.MatcherUtils.*;
 
-public class DependencyResultMatcher extends TypeSafeMatcher<DependencyResult> {
-    private static final String SIMPLE_FORMAT = "%-12s %-45s %s%n";
-    private static final String ARROW_FORMAT = "%-12s %-45s %s%n";
+public class DependencyResultMatcher extends BoundedResultMatcher<DependencyResultMatcher> {
     private final boolean nonExisting;
     private final boolean undefined;
 
     public DependencyResultMatcher(boolean nonExisting, boolean undefined) {
+        this(nonExisting, undefined, Integer.MAX_VALUE, null);
+    }
+
+    private DependencyResultMatcher(boolean nonExisting, boolean undefined, int limit, File report) {
+        super(limit, report);
         this.nonExisting = nonExisting;
         this.undefined = undefined;
     }
 
+    @Override
+    DependencyResultMatcher copy(int limit, File report) {
+        return new DependencyResultMatcher(nonExisting, undefined, limit, report);
+    }
+
     @Override
     protected boolean matchesSafely(DependencyResult item) {
         final Dependencies dependencies = item.findings();
@@ -45,46 +55,53 @@ public class DependencyResultMatcher extends TypeSafeMatcher<DependencyResult> {
     }
 
     @Override
-    protected void describeMismatchSafely(DependencyResult item, Description description) {
-        final Dependencies dependencies = item.findings();
-        description.appendText("\n");
-        describeNotExisting(dependencies, description);
-        describeUndefined(dependencies, description);
-        describeMissing(dependencies, description);
-        describeForbidden(dependencies, description);
+    void describe(Dependencies findings, Writer out, int limit) throws IOException {
+        describeNotExisting(findings, out, limit);
+        describeUndefined(findings, out, limit);
+        describeMissing(findings, out, limit);
+        describeForbidden(findings, out, limit);
     }
 
-    private void describeForbidden(Dependencies result, Description description) {
-        for (final String elem : sorted(result.getDenied().getElements())) {
-            description.appendText(String.format(ARROW_FORMAT, DENIED, elem + " ->", "This dependency is forbidden."));
-            description.appendText(deps("  ", result.getDenied().getDependencies(elem)));
+    private void describeForbidden(Dependencies result, Writer out, int limit) throws IOException {
+        final Set<String> elems = result.getDenied().getElements();
+        for (final String elem : sorted(elems, limit)) {
+            line(out, DENIED, elem + " ->", "This dependency is forbidden.");
+            deps(out, "  ", result.getDenied().getDependencies(elem));
         }
+        more(out, DENIED, elems.size(), limit);
     }
 
-    private void describeMissing(Dependencies result, Description description) {
-        for (final String elem : sorted(result.getMissing().getElements())) {
-            description.appendText(String.format(ARROW_FORMAT, MISSING, elem + " ->", "This dependency is missing."));
+    private void describeMissing(Dependencies result, Writer out, int limit) throws IOException {
+        final Set<String> elems = result.getMissing().getElements();
+        for (final String elem : sorted(elems, limit)) {
+            line(out, MISSING, elem + " ->", "This dependency is missing.");
             for (final String dep : sorted(result.getMissing().getDependencies(elem).keySet())) {
-                description.appendText("  " + dep + "\n");
+                out.write("  " + dep + "\n");
             }
         }
+        more(out, MISSING, elems.size(), limit);
     }
 
-    private void describeUndefined(Dependencies result, Description description) {
+    private void describeUndefined(Dependencies result, Writer out, int limit) throws IOException {
         if (undefined) {
-            for (final String elem : sorted(result.getUndefined())) {
-                description.appendText(String.format(SIMPLE_FORMAT, UNDEFINED, elem,
-                        "There is no rule given for this element."));
+            for (final String elem : sorted(result.getUndefined(), limit)) {
+                line(out, UNDEFINED, elem, "There is no rule given for this element.");
             }
+            more(out, UNDEFINED, result.getUndefined().size(), limit);
         }
     }
 
-    private void describeNotExisting(Dependencies result, Description description) {
+    private void describeNotExisting(Dependencies result, Writer out, int limit) throws IOException {
         if (nonExisting) {
-            for (final String elem : sortedPatterns(result.getNotExisting())) {
-                description.appendText(String.format(SIMPLE_FORMAT, NOT_EXISTING, elem,
-                        "There is a rule for this element, but it has not been found in the code."));
+            for (final String elem : sortedPatterns(result.getNotExisting(), limit)) {
+                line(out, NOT_EXISTING, elem,
+                        "There is a rule for this element, but it has not been found in the code.");
             }
+            more(out, NOT_EXISTING, result.getNotExisting().size(), limit);
         }
     }
+
+    private static void line(Writer out, String category, String elem, String message) throws IOException {
+        out.write(pad(category, 12) + " " + pad(elem, 45) + " " + message + NL);
+    }
 }
@@ -15,11 +15,10 @@
  */
 package guru.nidi.codeassert.dependency;
 
-import guru.nidi.codeassert.config.LocationMatcher;
 import guru.nidi.codeassert.model.Scope;
 import guru.nidi.codeassert.model.UsingElement;
 
-import java.util.List;
+import java.util.*;
 
 import static guru.nidi.codeassert.dependency.RuleAccessor.*;
 
@@ -55,6 +54,16 @@ public class DependencyRule extends JavaElement {
         return this;
     }
 
+    public DependencyRule mustUseTransitively(JavaElement... rules) {
+        use.mustTransitive(rules);
+        return this;
+    }
+
+    public DependencyRule mustNotUseTransitively(JavaElement... rules) {
+        use.mustNotTransitive(rules);
+        return this;
+    }
+
     public DependencyRule mustBeUsedBy(JavaElement... rules) {
         usedBy.must(rules);
         return this;
@@ -79,69 +88,109 @@ public class DependencyRule extends JavaElement {
         return use.isEmpty() && usedBy.isEmpty();
     }
 
-    public <T extends UsingElement<T>> Analyzer analyzer(Scope<T> scope, DependencyRules rules) {
+    boolean isTransitive() {
+        return use.isTransitive();
+    }
+
+    public <T extends UsingElement<T>> Analyzer<T> analyzer(Scope<T> scope, DependencyRules rules) {
         return new Analyzer<>(scope, rules);
     }
 
+    <T extends UsingElement<T>> Analyzer<T> analyzer(PatternMatches<T> matches, DependencyRules rules) {
+        return new Analyzer<>(matches, rules);
+    }
+
     public class Analyzer<T extends UsingElement<T>> {
         final Dependencies result = new Dependencies();
-        private final Scope<T> scope;
+        final IdDependencyMap<T> allowedIds = new IdDependencyMap<>();
+        final IdDependencyMap<T> deniedIds = new IdDependencyMap<>();
         private final DependencyRules rules;
         private final List<T> elems;
+        private final Set<T> musts;
+        final BitSet matched;
 
         public Analyzer(Scope<T> scope, DependencyRules rules) {
-            this.scope = scope;
+            this(scope.matchingElements(pattern), PatternMatches.matching(scope, use.must), rules);
+        }
+
+        Analyzer(PatternMatches<T> matches, DependencyRules rules) {
+            this(matches.get(pattern), matches.get(use.must), rules);
+        }
+
+        private Analyzer(List<T> elems, Set<T> musts, DependencyRules rules) {
             this.rules = rules;
-            elems = scope.matchingElements(pattern);
+            this.elems = elems;
+            this.musts = musts;
+            matched = UsingElement.ids(elems);
         }
 
         public Dependencies analyze() {
-            analyzeNotExisting();
-            analyzeMissing();
-            analyzeAllowAndDeny();
+            analyzeIds();
+            result.allowed.merge(allowedIds.toDependencyMap());
+            result.denied.merge(deniedIds.toDependencyMap());
             return result;
         }
 
-        private void analyzeNotExisting() {
+        /**
+         * Like analyze, but the allowed and denied dependencies are only collected in the id based maps.
+         */
+        void analyzeIds() {
+            analyzeNotExisting();
+            for (final T elem : elems) {
+                analyzeMissing(elem, result.missing);
+                analyzeAllowAndDeny(elem, allowedIds, deniedIds);
+            }
+        }
+
+        void analyzeNotExisting() {
             if (!optional && elems.isEmpty()) {
                 result.notExisting.add(pattern);
             }
         }
 
-        private void analyzeMissing() {
-            for (final T elem : elems) {
-                for (final LocationMatcher mustMatcher : use.must) {
-                    for (final T must : scope.matchingElements(mustMatcher)) {
-                        if (!elem.uses(must)) {
-                            result.missing.with(pattern.specificity(), elem, must);
-                        }
-                    }
+        private void analyzeMissing(T elem, DependencyMap missing) {
+            for (final T must : musts) {
+                if (!elem.uses(must)) {
+                    missing.with(pattern.specificity(), elem, must);
                 }
             }
         }
 
-        private void analyzeAllowAndDeny() {
-            for (final T elem : elems) {
-                for (final T dep : elem.uses()) {
-                    final int allowed = calcAllowedSpecificity(elem, dep);
-                    final int denied = calcDeniedSpecificity(elem, dep);
-                    if (isAmbiguous(allowed, denied)) {
-                        throw new AmbiguousRuleException(DependencyRule.this, elem, dep);
-                    }
-                    if (isAllowed(allowed, denied)) {
-                        result.allowed.with(pattern.specificity(), elem, dep);
-                    }
-                    if (isDenied(allowed, denied) && !isAllowed(elem, dep)) {
-                        //if deny if only because of !allowAll -> lowest specificity
-                        final int spec = denied == 0 ? 0 : pattern.specificity();
-                        result.denied.with(spec, elem, dep);
-                    }
+        private void analyzeAllowAndDeny(T elem, IdDependencyMap<T> allowedDeps, IdDependencyMap<T> deniedDeps) {
+            for (final T dep : elem.uses()) {
+                final int allowed = calcAllowedSpecificity(elem, dep);
+                final int denied = calcDeniedSpecificity(elem, dep);
+                if (isAmbiguous(allowed, denied)) {
+                    throw new AmbiguousRuleException(DependencyRule.this, elem, dep);
+                }
+                if (isAllowed(allowed, denied)) {
+                    allowedDeps.with(pattern.specificity(), elem, dep);
+                }
+                if (isDenied(allowed, denied) && !isAllowed(elem, dep)) {
+                    //if deny if only because of !allowAll -> lowest specificity
+                    final int spec = denied == 0 ? 0 : pattern.specificity();
+                    deniedDeps.with(spec, elem, dep);
                 }
             }
         }
 
+        /**
+         * Analyze the dependencies of a single element, if it is matched by this rule.
+         *
+         * @param elem    the element to analyze
+         * @param allowed receives the allowed dependencies of the element
+         * @param denied  receives the denied dependencies of the element
+         * @param missing receives the missing dependencies of the element
+         */
+        void analyzeElement(T elem, IdDependencyMap<T> allowed, IdDependencyMap<T> denied, DependencyMap missing) {
+            if (matched.get(elem.getId())) {
+                analyzeMissing(elem, missing);
+                analyzeAllowAndDeny(elem, allowed, denied);
+            }
+        }
+
         private boolean isAllowed(T elem, T dep) {
-            return rules.allowIntraPackageDeps && elem.getPackageName().equals(dep.getPackageName());
+            return rules.isAllowedIntraPackage(elem, dep);
         }
 
         private boolean isAllowed(int allowed, int denied) {
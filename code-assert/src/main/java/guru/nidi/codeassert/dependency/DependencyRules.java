@@ -22,39 +22,42 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public final class DependencyRules {
     private static final Logger LOG = LoggerFactory.getLogger(DependencyRules.class);
     private static final ThreadLocal<DependencyRules> CURRENT = new ThreadLocal<>();
 
-    private final List<DependencyRule> rules;
+    final List<DependencyRule> rules;
+    final List<Layers> layers;
     private final boolean allowAll;
-    private final boolean allowIntraPackageCycles;
+    final boolean allowIntraPackageCycles;
     final boolean allowIntraPackageDeps;
 
-    private DependencyRules(List<DependencyRule> rules, boolean allowAll,
+    private DependencyRules(List<DependencyRule> rules, List<Layers> layers, boolean allowAll,
                             boolean allowIntraPackageCycles, boolean allowIntraPackageDeps) {
         this.rules = rules;
+        this.layers = layers;
         this.allowAll = allowAll;
         this.allowIntraPackageCycles = allowIntraPackageCycles;
         this.allowIntraPackageDeps = allowIntraPackageDeps;
     }
 
     public static DependencyRules allowAll() {
-        return new DependencyRules(new ArrayList<DependencyRule>(), true, true, true);
+        return new DependencyRules(new ArrayList<DependencyRule>(), new ArrayList<Layers>(), true, true, true);
     }
 
     public static DependencyRules denyAll() {
-        return new DependencyRules(new ArrayList<DependencyRule>(), false, false, false);
+        return new DependencyRules(new ArrayList<DependencyRule>(), new ArrayList<Layers>(), false, false, false);
     }
 
     public DependencyRules allowIntraPackageCycles(boolean allowIntraPackageCycles) {
-        return new DependencyRules(rules, allowAll, allowIntraPackageCycles, allowIntraPackageDeps);
+        return new DependencyRules(rules, layers, allowAll, allowIntraPackageCycles, allowIntraPackageDeps);
     }
 
     public DependencyRules allowIntraPackageDependencies(boolean allowIntraPackageDeps) {
-        return new DependencyRules(rules, allowAll, allowIntraPackageCycles, allowIntraPackageDeps);
+        return new DependencyRules(rules, layers, allowAll, allowIntraPackageCycles, allowIntraPackageDeps);
     }
 
     public DependencyRule addRule(String pack) {
@@ -136,6 +139,41 @@ public final class DependencyRules {
         return this;
     }
 
+    /**
+     * Add layered architecture constraints.
+     * A dependency from a layer to a layer above is denied.
+     * In strict mode, a dependency to any but the next layer below is also denied.
+     * Elements belonging to a layer are not reported as undefined.
+     *
+     * @param layers the layers to check
+     * @return DependencyRules including the layers.
+     */
+    public DependencyRules withLayers(Layers... layers) {
+        Collections.addAll(this.layers, layers);
+        return this;
+    }
+
+    /**
+     * Check the rules for ambiguities and for rules that can never match,
+     * without looking at any code.
+     * Ambiguities are patterns that overlap with equal specificity,
+     * one allowing and one denying a dependency.
+     *
+     * @return these DependencyRules.
+     * @throws IllegalArgumentException listing all problems found.
+     */
+    public DependencyRules validate() {
+        final List<String> problems = new RuleValidator(rules).validate();
+        if (!problems.isEmpty()) {
+            final StringBuilder s = new StringBuilder("Invalid rules:");
+            for (final String problem : problems) {
+                s.append("\n  ").append(problem);
+            }
+            throw new IllegalArgumentException(s.toString());
+        }
+        return this;
+    }
+
     private DependencyRules doWithRules(boolean withRulerName, boolean external, DependencyRuler... rulers) {
         for (final DependencyRuler ruler : rulers) {
             doWithRules(addPackages("", withRulerName ? ruler.getClass() : null), external, ruler);
@@ -263,18 +301,15 @@ public final class DependencyRules {
     }
 
     public <T extends UsingElement<T>> Dependencies analyzeRules(Scope<T> scope) {
-        final Dependencies result = new Dependencies();
-        for (final DependencyRule rule : rules) {
-            result.merge(rule.analyzer(scope, this).analyze());
-        }
-        for (final T elem : scope) {
-            if (!elem.matchesAny(rules)) {
-                result.undefined.add(elem.getName());
-            }
-        }
-        result.normalize();
-        result.cycles.addAll(new Tarjan<T>().analyzeCycles(scope, allowIntraPackageCycles));
-        return result;
+        return analyzeRules(scope, ViolationBudget.unlimited());
+    }
+
+    <T extends UsingElement<T>> Dependencies analyzeRules(Scope<T> scope, ViolationBudget budget) {
+        return new RuleEvaluator<>(scope, this, budget).analyze();
+    }
+
+    boolean isAllowedIntraPackage(UsingElement<?> from, UsingElement<?> to) {
+        return allowIntraPackageDeps && from.getPackageName().equals(to.getPackageName());
     }
 
     <T extends UsingElement<T>> int mostSpecificUsageMatch(T from, T to, RuleAccessor accessor) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.model.UsingElement;
+import guru.nidi.codeassert.util.LongIntMap;
+
+import java.util.Arrays;
+
+/**
+ * A compact variant of {@link DependencyMap} keyed by the ids of the model elements.
+ * It stores only the specificity of each dependency, the vias are computed
+ * when the dependencies are converted into a {@link DependencyMap}.
+ *
+ * @param <T> the type of the elements
+ */
+class IdDependencyMap<T extends UsingElement<T>> {
+    private final LongIntMap deps = new LongIntMap();
+    private Object[] elems = new Object[16];
+
+    /**
+     * Add a dependency, overwriting the specificity of an already existing one.
+     *
+     * @param specificity the specificity of the dependency
+     * @param from        the using element
+     * @param to          the used element
+     */
+    public void with(int specificity, T from, T to) {
+        deps.put(LongIntMap.key(register(from), register(to)), specificity);
+    }
+
+    public void merge(IdDependencyMap<T> other) {
+        for (final long key : other.deps.keys()) {
+            register(other.elem(LongIntMap.high(key)));
+            register(other.elem(LongIntMap.low(key)));
+            deps.put(key, other.deps.get(key, 0));
+        }
+    }
+
+    public boolean isEmpty() {
+        return deps.size() == 0;
+    }
+
+    /**
+     * Add all dependencies not overridden by a more specific allowed dependency to a DependencyMap.
+     *
+     * @param target  the map to add the dependencies to
+     * @param allowed the explicitly allowed dependencies
+     */
+    public void addTo(DependencyMap target, IdDependencyMap<T> allowed) {
+        for (final long key : deps.keys()) {
+            final int specificity = deps.get(key, 0);
+            if (allowed.deps.get(key, 0) <= specificity) {
+                target.with(specificity, elem(LongIntMap.high(key)), elem(LongIntMap.low(key)));
+            }
+        }
+    }
+
+    public DependencyMap toDependencyMap() {
+        final DependencyMap res = new DependencyMap();
+        addTo(res, new IdDependencyMap<T>());
+        return res;
+    }
+
+    private int register(T elem) {
+        final int id = elem.getId();
+        if (id >= elems.length) {
+            elems = Arrays.copyOf(elems, Math.max(id + 1, elems.length * 2));
+        }
+        elems[id] = elem;
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elem(int id) {
+        return (T) elems[id];
+    }
+}
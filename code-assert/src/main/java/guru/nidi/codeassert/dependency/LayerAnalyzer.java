@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.model.Scope;
+import guru.nidi.codeassert.model.UsingElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class LayerAnalyzer<T extends UsingElement<T>> {
+    private final Scope<T> scope;
+    private final Layers layers;
+    private final DependencyRules rules;
+    private final Map<T, Integer> layerOf = new HashMap<>();
+
+    LayerAnalyzer(Scope<T> scope, DependencyRules rules, Layers layers) {
+        this.scope = scope;
+        this.rules = rules;
+        this.layers = layers;
+    }
+
+    public void analyze(Dependencies result) {
+        for (final T elem : scope) {
+            final int from = layer(elem);
+            if (from >= 0) {
+                for (final T dep : elem.uses()) {
+                    final int to = layer(dep);
+                    if (to >= 0 && !layers.mayUse(from, to) && !rules.isAllowedIntraPackage(elem, dep)) {
+                        result.denied.with(layers.layers.get(from).pattern.specificity(), elem, dep);
+                    }
+                }
+            }
+        }
+    }
+
+    private int layer(T elem) {
+        Integer layer = layerOf.get(elem);
+        if (layer == null) {
+            layer = layers.layerOf(elem);
+            layerOf.put(elem, layer);
+        }
+        return layer;
+    }
+}
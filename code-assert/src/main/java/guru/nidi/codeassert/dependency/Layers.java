@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.model.UsingElement;
+
+import java.util.*;
+
+/**
+ * An ordered list of layers, the first one being the top layer.
+ * A layer may use the layers below it, but never the ones above.
+ * In strict mode, a layer may only use the layer directly below it.
+ */
+public final class Layers {
+    final List<JavaElement> layers;
+    final boolean strict;
+
+    private Layers(List<JavaElement> layers, boolean strict) {
+        this.layers = layers;
+        this.strict = strict;
+    }
+
+    public static Layers strict(JavaElement... layers) {
+        return new Layers(Arrays.asList(layers), true);
+    }
+
+    public static Layers relaxed(JavaElement... layers) {
+        return new Layers(Arrays.asList(layers), false);
+    }
+
+    /**
+     * @param elem the element to find the layer for
+     * @param <T>  the type of the element
+     * @return the index of the most specific layer matching the element or -1 if no layer matches.
+     */
+    <T extends UsingElement<T>> int layerOf(T elem) {
+        int layer = -1;
+        int specificity = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            final JavaElement candidate = layers.get(i);
+            if (candidate.matches(elem) && candidate.pattern.specificity() > specificity) {
+                layer = i;
+                specificity = candidate.pattern.specificity();
+            }
+        }
+        return layer;
+    }
+
+    boolean mayUse(int from, int to) {
+        return from == to || (strict ? to == from + 1 : to > from);
+    }
+
+    @Override
+    public String toString() {
+        return (strict ? "Strict" : "Relaxed") + " layers " + layers;
+    }
+}
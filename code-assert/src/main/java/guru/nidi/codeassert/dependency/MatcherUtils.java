@@ -17,23 +17,29 @@ package guru.nidi.codeassert.dependency;
 
 import guru.nidi.codeassert.config.LocationMatcher;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 
 final class MatcherUtils {
+    static final String NL = System.lineSeparator();
+    private static final String SPACES = "                                                  ";
+
     private MatcherUtils() {
     }
 
-    public static String deps(String prefix, Map<String, DependencyMap.Info> deps) {
-        final StringBuilder s = new StringBuilder();
+    public static void deps(Writer out, String prefix, Map<String, DependencyMap.Info> deps) throws IOException {
         for (final String dep : sorted(deps.keySet())) {
-            s.append(prefix).append(dep);
+            out.write(prefix);
+            out.write(dep);
             final Set<String> by = deps.get(dep).getVias();
             if (!by.isEmpty()) {
-                s.append(" (by ").append(join(by)).append(')');
+                out.write(" (by ");
+                out.write(join(by));
+                out.write(')');
             }
-            s.append('\n');
+            out.write('\n');
         }
-        return s.toString();
     }
 
     public static String join(Collection<String> packs) {
@@ -50,11 +56,52 @@ final class MatcherUtils {
         return sorted;
     }
 
-    public static List<String> sortedPatterns(Collection<LocationMatcher> patterns) {
+    public static List<String> sorted(Collection<String> ss, int limit) {
+        return smallest(ss, limit, Comparator.<String>naturalOrder());
+    }
+
+    /**
+     * Select the smallest elements without sorting the whole collection.
+     *
+     * @param ts         the elements
+     * @param limit      the maximum number of elements to return
+     * @param comparator defines the order of the elements
+     * @param <T>        the type of the elements
+     * @return The sorted smallest elements.
+     */
+    public static <T> List<T> smallest(Collection<T> ts, int limit, Comparator<? super T> comparator) {
+        if (ts.size() <= limit) {
+            final List<T> all = new ArrayList<>(ts);
+            Collections.sort(all, comparator);
+            return all;
+        }
+        final PriorityQueue<T> heap = new PriorityQueue<>(limit + 1, Collections.reverseOrder(comparator));
+        for (final T t : ts) {
+            heap.add(t);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        final List<T> res = new ArrayList<>(heap);
+        Collections.sort(res, comparator);
+        return res;
+    }
+
+    public static List<String> sortedPatterns(Collection<LocationMatcher> patterns, int limit) {
         final List<String> ss = new ArrayList<>();
         for (final LocationMatcher pattern : patterns) {
             ss.add(pattern.toString());
         }
-        return sorted(ss);
+        return sorted(ss, limit);
+    }
+
+    public static String pad(String s, int width) {
+        return s.length() >= width ? s : s + SPACES.substring(0, width - s.length());
+    }
+
+    public static void more(Writer out, String category, int total, int limit) throws IOException {
+        if (total > limit) {
+            out.write(pad(category, 12) + " ... " + (total - limit) + " more of " + total + " in total" + NL);
+        }
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.Instrumentation;
+import guru.nidi.codeassert.model.*;
+
+import java.util.*;
+
+/**
+ * Evaluates the rules for multiple scopes of a model.
+ * If the package and the class scope are both analyzed,
+ * every package is visited along with its classes, so the class edges
+ * and the package edges derived from them are evaluated in the same pass.
+ * The class cycles spanning multiple packages are then used as seeds for the package cycles.
+ */
+class ModelEvaluator {
+    private final Model model;
+    private final DependencyRules rules;
+    private final Map<Scope<?>, Dependencies> results = new HashMap<>();
+    private Scope<?> packageScope;
+    private Scope<?> classScope;
+    private ViolationBudget packageBudget;
+    private ViolationBudget classBudget;
+    private RuleEvaluator<JavaPackage> packages;
+    private RuleEvaluator<JavaClass> classes;
+
+    ModelEvaluator(Model model, DependencyRules rules) {
+        this.model = model;
+        this.rules = rules;
+    }
+
+    public void add(Scope<?> scope, ViolationBudget budget) {
+        if (scope instanceof Scope.Packages) {
+            packageScope = scope;
+            packageBudget = budget;
+        } else if (scope instanceof Scope.Classes) {
+            classScope = scope;
+            classBudget = budget;
+        } else {
+            //other scopes are analyzed by themselves
+            results.put(scope, rules.analyzeRules(scope.in(model), budget));
+        }
+    }
+
+    public Dependencies getResult(Scope<?> scope) {
+        return results.get(scope);
+    }
+
+    public void analyze() {
+        if (packageScope == null && classScope == null) {
+            return;
+        }
+        final Instrumentation.Phase evaluate = Instrumentation.start(DependencyAnalyzer.NAME, Instrumentation.RULES);
+        try {
+            match();
+            evaluate();
+        } finally {
+            evaluate.end();
+        }
+        final List<Set<JavaPackage>> seeds = new ArrayList<>();
+        if (classes != null) {
+            seeds.addAll(packageSeeds(classes.analyzeCycles(Collections.<Set<JavaClass>>emptyList())));
+            results.put(classScope, classes.getResult());
+        }
+        if (packages != null) {
+            Instrumentation.count(DependencyAnalyzer.NAME, Instrumentation.CYCLE_SEEDS, seeds.size());
+            packages.analyzeCycles(seeds);
+            results.put(packageScope, packages.getResult());
+        }
+    }
+
+    //match each element once against the patterns of the rules
+    private void match() {
+        final PatternMatches<JavaPackage> packageMatches = new PatternMatches<>(rules);
+        final PatternMatches<JavaClass> classMatches = new PatternMatches<>(rules);
+        for (final JavaPackage pack : model.getPackages()) {
+            if (packageScope != null) {
+                packageMatches.add(pack);
+            }
+            if (classScope != null) {
+                for (final JavaClass clazz : pack.getClasses()) {
+                    classMatches.add(clazz);
+                }
+            }
+        }
+        Instrumentation.count(DependencyAnalyzer.NAME, Instrumentation.MATCHED_ELEMENTS,
+                packageMatches.size() + classMatches.size());
+        if (packageScope != null) {
+            packages = new RuleEvaluator<>(Scope.packages(model), rules, packageBudget, packageMatches);
+        }
+        if (classScope != null) {
+            classes = new RuleEvaluator<>(Scope.classes(model), rules, classBudget, classMatches);
+        }
+    }
+
+    private void evaluate() {
+        startRules(packages);
+        startRules(classes);
+        if (packages == null || classes == null) {
+            //a single scope is analyzed in its own order, like with DependencyRules.analyzeRules
+            analyzeElements(packages, Scope.packages(model));
+            analyzeElements(classes, Scope.classes(model));
+        } else {
+            for (final JavaPackage pack : model.getPackages()) {
+                for (final JavaClass clazz : pack.getClasses()) {
+                    classes.analyzeElement(clazz);
+                }
+                packages.analyzeElement(pack);
+            }
+        }
+        finishRules(packages);
+        finishRules(classes);
+    }
+
+    private static void startRules(RuleEvaluator<?> evaluator) {
+        if (evaluator != null) {
+            evaluator.startRules();
+        }
+    }
+
+    private static void finishRules(RuleEvaluator<?> evaluator) {
+        if (evaluator != null) {
+            evaluator.finishRules();
+        }
+    }
+
+    private static <T extends UsingElement<T>> void analyzeElements(RuleEvaluator<T> evaluator, Scope<T> scope) {
+        if (evaluator != null) {
+            for (final T elem : scope) {
+                evaluator.analyzeElement(elem);
+            }
+        }
+    }
+
+    //the packages of a class cycle spanning multiple packages are strongly connected, too
+    private static List<Set<JavaPackage>> packageSeeds(List<Set<JavaClass>> classCycles) {
+        final List<Set<JavaPackage>> seeds = new ArrayList<>();
+        for (final Set<JavaClass> cycle : classCycles) {
+            final Set<JavaPackage> packs = new HashSet<>();
+            for (final JavaClass clazz : cycle) {
+                packs.add(clazz.getPackage());
+            }
+            if (packs.size() > 1) {
+                seeds.add(packs);
+            }
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.config.LocationMatcher;
+import guru.nidi.codeassert.model.Scope;
+import guru.nidi.codeassert.model.UsingElement;
+
+import java.util.*;
+
+/**
+ * The elements matched by the patterns of the rules and layers.
+ * Every element is matched once against each distinct pattern,
+ * all rules and layers using the same pattern share the matching elements.
+ *
+ * @param <T> the type of the elements
+ */
+class PatternMatches<T extends UsingElement<T>> {
+    private final Map<LocationMatcher, List<T>> matches = new HashMap<>();
+    private int size;
+
+    PatternMatches(DependencyRules rules) {
+        for (final DependencyRule rule : rules.rules) {
+            register(Collections.singleton(rule.pattern));
+            register(rule.use.must);
+            register(rule.use.mustTransitive);
+            register(rule.use.mustNotTransitive);
+        }
+        for (final Layers layer : rules.layers) {
+            for (final JavaElement elem : layer.layers) {
+                register(Collections.singleton(elem.pattern));
+            }
+        }
+    }
+
+    static <T extends UsingElement<T>> PatternMatches<T> of(Iterable<T> elems, DependencyRules rules) {
+        final PatternMatches<T> matches = new PatternMatches<>(rules);
+        for (final T elem : elems) {
+            matches.add(elem);
+        }
+        return matches;
+    }
+
+    static <T extends UsingElement<T>> Set<T> matching(Scope<T> scope, Collection<LocationMatcher> patterns) {
+        final Set<T> res = new LinkedHashSet<>();
+        for (final T elem : scope) {
+            for (final LocationMatcher pattern : patterns) {
+                if (elem.isMatchedBy(pattern)) {
+                    res.add(elem);
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+
+    private void register(Collection<LocationMatcher> patterns) {
+        for (final LocationMatcher pattern : patterns) {
+            if (!matches.containsKey(pattern)) {
+                matches.put(pattern, new ArrayList<T>());
+            }
+        }
+    }
+
+    public void add(T elem) {
+        for (final Map.Entry<LocationMatcher, List<T>> match : matches.entrySet()) {
+            if (elem.isMatchedBy(match.getKey())) {
+                match.getValue().add(elem);
+            }
+        }
+        size++;
+    }
+
+    //the number of elements that have been matched against the patterns
+    public int size() {
+        return size;
+    }
+
+    public List<T> get(LocationMatcher pattern) {
+        return matches.get(pattern);
+    }
+
+    public Set<T> get(Collection<LocationMatcher> patterns) {
+        final Set<T> res = new LinkedHashSet<>();
+        for (final LocationMatcher pattern : patterns) {
+            res.addAll(get(pattern));
+        }
+        return res;
+    }
+}
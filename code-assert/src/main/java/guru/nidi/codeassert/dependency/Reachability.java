@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.model.UsingElement;
+
+import java.util.*;
+
+/**
+ * Transitive closure of the uses relation.
+ * The strongly connected components are collapsed into a DAG and every component gets a bitset
+ * of the target components it can reach, so one pass answers all reachability queries.
+ * Only components containing a target element get a bit, which keeps the bitsets small.
+ *
+ * @param <T> the type of the elements
+ */
+class Reachability<T extends UsingElement<T>> {
+    private final List<T> elems = new ArrayList<>();
+    private final Map<T, Integer> ids = new HashMap<>();
+    private int[][] uses;
+    private int[] component;
+    private int[] targetIndex;
+    private BitSet[] reach;
+
+    Reachability(Iterable<T> scope, Collection<T> targets) {
+        for (final T elem : scope) {
+            id(elem);
+        }
+        initUses();
+        initComponents(targets);
+    }
+
+    public boolean reaches(T from, T to) {
+        final Integer fromId = ids.get(from);
+        final Integer toId = ids.get(to);
+        if (fromId == null || toId == null) {
+            return false;
+        }
+        final int target = targetIndex[component[toId]];
+        return target >= 0 && reach[component[fromId]].get(target);
+    }
+
+    /**
+     * @param from the starting element
+     * @param to   the target element
+     * @return the elements directly used by from which lead to the target element.
+     */
+    public List<T> via(T from, T to) {
+        final List<T> res = new ArrayList<>();
+        for (final T dep : from.uses()) {
+            if (dep.equals(to) || reaches(dep, to)) {
+                res.add(dep);
+            }
+        }
+        return res;
+    }
+
+    private int id(T elem) {
+        Integer id = ids.get(elem);
+        if (id == null) {
+            id = elems.size();
+            elems.add(elem);
+            ids.put(elem, id);
+        }
+        return id;
+    }
+
+    private void initUses() {
+        final List<int[]> res = new ArrayList<>();
+        for (int i = 0; i < elems.size(); i++) {
+            final Collection<T> deps = elems.get(i).uses();
+            final int[] us = new int[deps.size()];
+            int j = 0;
+            for (final T dep : deps) {
+                us[j++] = id(dep);
+            }
+            res.add(us);
+        }
+        uses = res.toArray(new int[res.size()][]);
+    }
+
+    private void initComponents(Collection<T> targets) {
+        final Set<Integer> targetIds = new HashSet<>();
+        for (final T target : targets) {
+            final Integer id = ids.get(target);
+            if (id != null) {
+                targetIds.add(id);
+            }
+        }
+        new Condensation(targetIds).run();
+    }
+
+    /**
+     * Iterative version of Tarjan's algorithm.
+     * Components are completed in reverse topological order,
+     * so the bitsets of all used components are final when a component is completed.
+     */
+    private final class Condensation {
+        private final Set<Integer> targetIds;
+        private final int[] index;
+        private final int[] lowlink;
+        private final boolean[] onStack;
+        private final int[] stack;
+        private final int[] callStack;
+        private final int[] edgePos;
+        private int sp;
+        private int csp;
+        private int counter;
+        private int components;
+        private int targets;
+
+        Condensation(Set<Integer> targetIds) {
+            this.targetIds = targetIds;
+            final int n = uses.length;
+            index = new int[n];
+            lowlink = new int[n];
+            onStack = new boolean[n];
+            stack = new int[n];
+            callStack = new int[n];
+            edgePos = new int[n];
+            component = new int[n];
+            targetIndex = new int[n];
+            reach = new BitSet[n];
+            Arrays.fill(index, -1);
+        }
+
+        void run() {
+            for (int i = 0; i < uses.length; i++) {
+                if (index[i] < 0) {
+                    visit(i);
+                    walk();
+                }
+            }
+        }
+
+        private void visit(int v) {
+            index[v] = counter;
+            lowlink[v] = counter;
+            counter++;
+            stack[sp++] = v;
+            onStack[v] = true;
+            edgePos[v] = 0;
+            callStack[csp++] = v;
+        }
+
+        private void walk() {
+            while (csp > 0) {
+                final int v = callStack[csp - 1];
+                if (edgePos[v] < uses[v].length) {
+                    final int w = uses[v][edgePos[v]++];
+                    if (index[w] < 0) {
+                        visit(w);
+                    } else if (onStack[w]) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                } else {
+                    csp--;
+                    if (lowlink[v] == index[v]) {
+                        complete(v);
+                    }
+                    if (csp > 0) {
+                        final int u = callStack[csp - 1];
+                        lowlink[u] = Math.min(lowlink[u], lowlink[v]);
+                    }
+                }
+            }
+        }
+
+        private void complete(int root) {
+            final int c = components++;
+            final int start = popComponent(root, c);
+            targetIndex[c] = containsTarget(start) ? targets++ : -1;
+            final BitSet bits = new BitSet();
+            reach[c] = bits;
+            for (int i = start; i < sp; i++) {
+                for (final int w : uses[stack[i]]) {
+                    addReach(bits, component[w]);
+                }
+            }
+            sp = start;
+        }
+
+        private void addReach(BitSet bits, int c) {
+            if (targetIndex[c] >= 0) {
+                bits.set(targetIndex[c]);
+            }
+            bits.or(reach[c]);
+        }
+
+        private int popComponent(int root, int c) {
+            int pos = sp;
+            int w;
+            do {
+                w = stack[--pos];
+                onStack[w] = false;
+                component[w] = c;
+            } while (w != root);
+            return pos;
+        }
+
+        private boolean containsTarget(int start) {
+            for (int i = start; i < sp; i++) {
+                if (targetIds.contains(stack[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.Instrumentation;
+import guru.nidi.codeassert.config.LocationMatcher;
+import guru.nidi.codeassert.model.Scope;
+import guru.nidi.codeassert.model.UsingElement;
+
+import java.util.*;
+
+import static guru.nidi.codeassert.dependency.DependencyCollector.*;
+
+/**
+ * Evaluates the rules for the elements of a scope.
+ * The elements can be fed one by one with analyzeElement, between startRules and finishRules,
+ * so multiple scopes can be evaluated in the same pass over a model.
+ *
+ * @param <T> the type of the elements
+ */
+class RuleEvaluator<T extends UsingElement<T>> {
+    private final Scope<T> scope;
+    private final DependencyRules rules;
+    private final ViolationBudget budget;
+    private final PatternMatches<T> matches;
+    private final List<DependencyRule.Analyzer<T>> analyzers = new ArrayList<>();
+    private final Dependencies result = new Dependencies();
+    private final BitSet defined = new BitSet();
+
+    RuleEvaluator(Scope<T> scope, DependencyRules rules, ViolationBudget budget) {
+        this(scope, rules, budget, PatternMatches.of(scope, rules));
+    }
+
+    RuleEvaluator(Scope<T> scope, DependencyRules rules, ViolationBudget budget, PatternMatches<T> matches) {
+        this.scope = scope;
+        this.rules = rules;
+        this.budget = budget;
+        this.matches = matches;
+        for (final DependencyRule rule : rules.rules) {
+            final DependencyRule.Analyzer<T> analyzer = rule.analyzer(matches, rules);
+            analyzers.add(analyzer);
+            defined.or(analyzer.matched);
+        }
+        for (final Layers layer : rules.layers) {
+            for (final JavaElement elem : layer.layers) {
+                defined.or(UsingElement.ids(matches.get(elem.pattern)));
+            }
+        }
+    }
+
+    public Dependencies analyze() {
+        final Instrumentation.Phase evaluate = Instrumentation.start(DependencyAnalyzer.NAME, Instrumentation.RULES);
+        try {
+            startRules();
+            for (final T elem : scope) {
+                analyzeElement(elem);
+            }
+            finishRules();
+        } finally {
+            evaluate.end();
+        }
+        analyzeCycles(Collections.<Set<T>>emptyList());
+        return result;
+    }
+
+    public Dependencies getResult() {
+        return result;
+    }
+
+    void startRules() {
+        if (budget.isLimited()) {
+            analyzeNotExisting();
+        } else {
+            for (final DependencyRule.Analyzer<T> analyzer : analyzers) {
+                analyzer.analyzeNotExisting();
+            }
+        }
+    }
+
+    void analyzeElement(T elem) {
+        if (budget.isLimited()) {
+            analyzeLimited(elem);
+        } else {
+            if (isUndefined(elem)) {
+                result.undefined.add(elem.getName());
+            }
+            for (final DependencyRule.Analyzer<T> analyzer : analyzers) {
+                analyzer.analyzeElement(elem, analyzer.allowedIds, analyzer.deniedIds, analyzer.result.missing);
+            }
+        }
+    }
+
+    void finishRules() {
+        if (budget.isLimited()) {
+            if (isDependencyBudgetLeft()) {
+                final Dependencies transitive = new Dependencies();
+                analyzeTransitiveAndLayers(transitive);
+                addAccepted(MISSING, transitive.missing, result.missing);
+                addAccepted(DENIED, transitive.denied, result.denied);
+            }
+        } else {
+            final IdDependencyMap<T> allowed = new IdDependencyMap<>();
+            final IdDependencyMap<T> denied = new IdDependencyMap<>();
+            for (final DependencyRule.Analyzer<T> analyzer : analyzers) {
+                result.merge(analyzer.result);
+                allowed.merge(analyzer.allowedIds);
+                denied.merge(analyzer.deniedIds);
+            }
+            denied.addTo(result.denied, allowed);
+            result.normalize();
+            analyzeTransitiveAndLayers(result);
+        }
+    }
+
+    /**
+     * Search the cycles of the scope.
+     *
+     * @param seeds groups of elements already known to be part of a cycle
+     * @return the strongly connected components with more than one element.
+     */
+    List<Set<T>> analyzeCycles(Collection<Set<T>> seeds) {
+        if (budget.isExhausted(CYCLE)) {
+            return Collections.emptyList();
+        }
+        final Instrumentation.Phase cycles = Instrumentation.start(DependencyAnalyzer.NAME, Instrumentation.CYCLES);
+        try {
+            final Tarjan<T> tarjan = new Tarjan<>(budget);
+            tarjan.seed(seeds);
+            result.cycles.addAll(tarjan.analyzeCycles(scope, rules.allowIntraPackageCycles));
+            return tarjan.getComponents();
+        } finally {
+            cycles.end();
+        }
+    }
+
+    //analyze element by element, so the analysis can stop as soon as the budget is exhausted
+    private void analyzeLimited(T elem) {
+        if (budget.isExhausted()) {
+            return;
+        }
+        if (!budget.isExhausted(UNDEFINED) && isUndefined(elem) && budget.accept(UNDEFINED, elem.getName())) {
+            result.undefined.add(elem.getName());
+        }
+        if (isDependencyBudgetLeft()) {
+            analyzeDependencies(elem);
+        }
+    }
+
+    private boolean isDependencyBudgetLeft() {
+        return !budget.isExhausted(MISSING) || !budget.isExhausted(DENIED);
+    }
+
+    private void analyzeNotExisting() {
+        for (final DependencyRule.Analyzer<T> analyzer : analyzers) {
+            analyzer.analyzeNotExisting();
+            for (final LocationMatcher notExisting : analyzer.result.notExisting) {
+                if (budget.accept(NOT_EXISTING, notExisting)) {
+                    result.notExisting.add(notExisting);
+                }
+            }
+        }
+    }
+
+    private void analyzeDependencies(T elem) {
+        final IdDependencyMap<T> allowedOfElem = new IdDependencyMap<>();
+        final IdDependencyMap<T> deniedOfElem = new IdDependencyMap<>();
+        final DependencyMap missing = new DependencyMap();
+        for (final DependencyRule.Analyzer<T> analyzer : analyzers) {
+            analyzer.analyzeElement(elem, allowedOfElem, deniedOfElem, missing);
+        }
+        final DependencyMap denied = new DependencyMap();
+        deniedOfElem.addTo(denied, allowedOfElem);
+        addAccepted(MISSING, missing, result.missing);
+        addAccepted(DENIED, denied, result.denied);
+    }
+
+    private void addAccepted(String type, DependencyMap source, DependencyMap target) {
+        for (final String name : source.getElements()) {
+            for (final String to : source.getDependencies(name).keySet()) {
+                if (target.getDependencies(name) != null || budget.accept(type, name, to)) {
+                    target.with(name, source);
+                    break;
+                }
+            }
+        }
+    }
+
+    //an element is defined if it is matched by any rule or layer
+    private boolean isUndefined(T elem) {
+        return !defined.get(elem.getId());
+    }
+
+    private void analyzeTransitiveAndLayers(Dependencies target) {
+        final List<DependencyRule> transitive = new ArrayList<>();
+        for (final DependencyRule rule : rules.rules) {
+            if (rule.isTransitive()) {
+                transitive.add(rule);
+            }
+        }
+        if (!transitive.isEmpty()) {
+            new TransitiveAnalyzer<>(scope, rules, matches, transitive).analyze(target);
+        }
+        for (final Layers layer : rules.layers) {
+            new LayerAnalyzer<>(scope, rules, layer).analyze(target);
+        }
+    }
+}
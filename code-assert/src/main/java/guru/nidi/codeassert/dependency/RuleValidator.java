@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.config.LocationMatcher;
+
+import java.util.*;
+
+/**
+ * Finds problems in rules by only looking at their patterns.
+ * Two patterns can conflict if they overlap and have the same specificity.
+ */
+class RuleValidator {
+    private final List<DependencyRule> rules;
+    private final List<String> problems = new ArrayList<>();
+
+    RuleValidator(List<DependencyRule> rules) {
+        this.rules = rules;
+    }
+
+    public List<String> validate() {
+        for (final DependencyRule rule : rules) {
+            checkDead(rule);
+            checkAmbiguous(rule, "uses", rule.use);
+            checkAmbiguous(rule, "is used by", rule.usedBy);
+            for (final DependencyRule target : rules) {
+                checkAmbiguous(rule, target);
+            }
+        }
+        return problems;
+    }
+
+    private void checkDead(DependencyRule rule) {
+        if (!rule.pattern.matchesTypes()) {
+            problems.add(rule.pattern + " can never match a package or class.");
+        }
+        for (final LocationMatcher target : all(rule.use, rule.usedBy)) {
+            if (!target.matchesTypes()) {
+                problems.add(rule.pattern + " refers to " + target + " which can never match a package or class.");
+            }
+        }
+    }
+
+    //the same usage allows and denies a dependency with equal specificity
+    private void checkAmbiguous(DependencyRule rule, String verb, Usage usage) {
+        for (final LocationMatcher allow : all(usage.must, usage.may)) {
+            for (final LocationMatcher deny : usage.mustNot) {
+                if (conflict(allow, deny)) {
+                    problems.add(rule.pattern + " " + verb + " " + allow + " and " + deny + " ambiguously.");
+                }
+            }
+        }
+    }
+
+    //one rule allows a dependency, the other denies it with equal specificity
+    private void checkAmbiguous(DependencyRule from, DependencyRule to) {
+        for (final LocationMatcher use : all(from.use.must, from.use.may)) {
+            for (final LocationMatcher usedBy : to.usedBy.mustNot) {
+                checkAmbiguous(from, to, use, usedBy);
+            }
+        }
+        for (final LocationMatcher use : from.use.mustNot) {
+            for (final LocationMatcher usedBy : all(to.usedBy.must, to.usedBy.may)) {
+                checkAmbiguous(from, to, use, usedBy);
+            }
+        }
+    }
+
+    private void checkAmbiguous(DependencyRule from, DependencyRule to, LocationMatcher use, LocationMatcher usedBy) {
+        if (use.overlaps(to.pattern) && usedBy.overlaps(from.pattern)
+                && use.specificity() == usedBy.specificity()) {
+            problems.add("Dependency " + from.pattern + " -> " + to.pattern + " is ambiguous: "
+                    + from.pattern + " uses " + use + ", " + to.pattern + " is used by " + usedBy + ".");
+        }
+    }
+
+    private static boolean conflict(LocationMatcher m1, LocationMatcher m2) {
+        return m1.specificity() == m2.specificity() && m1.overlaps(m2);
+    }
+
+    private static Set<LocationMatcher> all(Set<LocationMatcher> s1, Set<LocationMatcher> s2) {
+        final Set<LocationMatcher> res = new TreeSet<>(s1);
+        res.addAll(s2);
+        return res;
+    }
+
+    private static Set<LocationMatcher> all(Usage u1, Usage u2) {
+        final Set<LocationMatcher> res = new TreeSet<>();
+        for (final Usage u : new Usage[]{u1, u2}) {
+            res.addAll(u.must);
+            res.addAll(u.may);
+            res.addAll(u.mustNot);
+            res.addAll(u.mustTransitive);
+            res.addAll(u.mustNotTransitive);
+        }
+        return res;
+    }
+}
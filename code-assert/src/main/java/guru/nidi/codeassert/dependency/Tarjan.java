@@ -19,82 +19,158 @@ import guru.nidi.codeassert.model.UsingElement;
 
 import java.util.*;
 
+import static guru.nidi.codeassert.dependency.DependencyCollector.CYCLE;
+
 class Tarjan<T extends UsingElement<T>> {
     private int index;
     private final Stack<T> stack = new Stack<>();
-    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, Node<T>> nodes = new HashMap<>();
     private final Set<DependencyMap> result = new HashSet<>();
+    private final List<Set<T>> components = new ArrayList<>();
+    private final ViolationBudget budget;
+    private boolean intraPackageAllowed;
 
-    private static class Node {
+    private static class Node<T> {
+        final Set<T> members;
         int index = -1;
         int lowlink;
         boolean onStack;
+
+        Node(Set<T> members) {
+            this.members = members;
+        }
+    }
+
+    private static class Frame<T extends UsingElement<T>> {
+        final T elem;
+        final Node<T> node;
+        final Iterator<T> uses;
+
+        Frame(T elem, Node<T> node) {
+            this.elem = elem;
+            this.node = node;
+            this.uses = node.members == null ? elem.uses().iterator() : uses(node.members).iterator();
+        }
+
+        private static <T extends UsingElement<T>> List<T> uses(Set<T> members) {
+            final List<T> uses = new ArrayList<>();
+            for (final T member : members) {
+                uses.addAll(member.uses());
+            }
+            return uses;
+        }
+    }
+
+    Tarjan(ViolationBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Treat each group of elements as one node, as they are known to be strongly connected.
+     * Overlapping groups are merged. Must be called before analyzeCycles.
+     *
+     * @param groups the groups of strongly connected elements
+     */
+    public void seed(Collection<Set<T>> groups) {
+        for (final Set<T> group : groups) {
+            final Set<T> members = new HashSet<>(group);
+            for (final T elem : group) {
+                final Node<T> node = nodes.get(elem.getName());
+                if (node != null) {
+                    members.addAll(node.members);
+                }
+            }
+            final Node<T> node = new Node<>(members);
+            for (final T member : members) {
+                nodes.put(member.getName(), node);
+            }
+        }
+    }
+
+    /**
+     * All strongly connected components with more than one element found by analyzeCycles,
+     * also the ones that are not reported as cycle.
+     *
+     * @return the components
+     */
+    public List<Set<T>> getComponents() {
+        return components;
     }
 
     public Set<DependencyMap> analyzeCycles(Iterable<T> elems, boolean allowIntraPackageCycles) {
+        intraPackageAllowed = allowIntraPackageCycles;
         index = 0;
-        final Map<String, T> map = new HashMap<>();
         for (final T elem : elems) {
-            map.put(elem.getName(), elem);
+            if (isExhausted()) {
+                break;
+            }
             if (node(elem).index < 0) {
                 strongConnect(elem);
             }
         }
-        return removeInnerCycles(map, true, allowIntraPackageCycles);
+        return result;
     }
 
-    private Set<DependencyMap> removeInnerCycles(Map<String, T> elems, boolean innerClasses, boolean intraPackages) {
-        final Set<DependencyMap> res = new HashSet<>();
-        for (final DependencyMap map : result) {
-            final DependencyMap filtered = new DependencyMap();
-            for (final String from : map.getElements()) {
-                for (final Map.Entry<String, DependencyMap.Info> entry : map.getDependencies(from).entrySet()) {
-                    final String to = entry.getKey();
-                    final boolean innerClassOk = innerClasses && areInnerClasses(from, to);
-                    final boolean intraPackageOk = intraPackages && areSamePackage(elems, from, to);
-                    if (!innerClassOk && !intraPackageOk) {
-                        filtered.with(entry.getValue().getSpecificity(), from, entry.getValue().getVias(), to);
-                    }
-                }
-            }
-            if (!filtered.isEmpty()) {
-                res.add(filtered);
-            }
-        }
-        return res;
+    private boolean isExhausted() {
+        return budget.isExhausted(CYCLE);
     }
 
-    private boolean areSamePackage(Map<String, T> elems, String c1, String c2) {
-        return elems.get(c1).getPackageName().equals(elems.get(c2).getPackageName());
+    private boolean isAllowed(T from, T to) {
+        final boolean innerClassOk = areInnerClasses(from.getName(), to.getName());
+        final boolean intraPackageOk = intraPackageAllowed && from.getPackageName().equals(to.getPackageName());
+        return innerClassOk || intraPackageOk;
     }
 
     private boolean areInnerClasses(String c1, String c2) {
         return c1.startsWith(c2 + "$") || c2.startsWith(c1 + "$");
     }
 
-    private Node node(T elem) {
-        Node node = nodes.get(elem.getName());
+    private Node<T> node(T elem) {
+        Node<T> node = nodes.get(elem.getName());
         if (node == null) {
-            node = new Node();
+            node = new Node<>(null);
             nodes.put(elem.getName(), node);
         }
         return node;
     }
 
-    private void strongConnect(T elem) {
-        final Node v = init(elem);
-        processUses(elem, v);
+    //iterative, so deep dependency chains don't overflow the stack
+    private void strongConnect(T root) {
+        final Deque<Frame<T>> frames = new ArrayDeque<>();
+        frames.push(new Frame<>(root, init(root)));
+        while (!frames.isEmpty() && !isExhausted()) {
+            final Frame<T> frame = frames.peek();
+            if (frame.uses.hasNext()) {
+                final T dep = frame.uses.next();
+                final Node<T> w = node(dep);
+                if (w.index < 0) {
+                    frames.push(new Frame<>(dep, init(dep)));
+                } else if (w.onStack) {
+                    frame.node.lowlink = Math.min(frame.node.lowlink, w.index);
+                }
+            } else {
+                frames.pop();
+                finish(frame);
+                if (!frames.isEmpty()) {
+                    final Node<T> parent = frames.peek().node;
+                    parent.lowlink = Math.min(parent.lowlink, frame.node.lowlink);
+                }
+            }
+        }
+    }
 
-        if (v.lowlink == v.index) {
-            final Set<T> group = createGroup(elem);
+    private void finish(Frame<T> frame) {
+        if (frame.node.lowlink == frame.node.index) {
+            final Set<T> group = createGroup(frame.elem);
             if (group.size() > 1) {
+                components.add(group);
                 addCycle(group);
             }
         }
     }
 
-    private Node init(T elem) {
-        final Node v = node(elem);
+    private Node<T> init(T elem) {
+        final Node<T> v = node(elem);
         v.index = index;
         v.lowlink = index;
         index++;
@@ -103,25 +179,18 @@ class Tarjan<T extends UsingElement<T>> {
         return v;
     }
 
-    private void processUses(T elem, Node v) {
-        for (final T dep : elem.uses()) {
-            final Node w = node(dep);
-            if (w.index < 0) {
-                strongConnect(dep);
-                v.lowlink = Math.min(v.lowlink, w.lowlink);
-            } else if (w.onStack) {
-                v.lowlink = Math.min(v.lowlink, w.index);
-            }
-        }
-    }
-
     private Set<T> createGroup(T elem) {
         final Set<T> group = new HashSet<>();
         T w;
         do {
             w = stack.pop();
-            node(w).onStack = false;
-            group.add(w);
+            final Node<T> node = node(w);
+            node.onStack = false;
+            if (node.members == null) {
+                group.add(w);
+            } else {
+                group.addAll(node.members);
+            }
         } while (!elem.equals(w));
         return group;
     }
@@ -130,11 +199,13 @@ class Tarjan<T extends UsingElement<T>> {
         final DependencyMap g = new DependencyMap();
         for (final T elem : group) {
             for (final T dep : elem.uses()) {
-                if (group.contains(dep)) {
+                if (group.contains(dep) && !isAllowed(elem, dep)) {
                     g.with(0, elem, dep);
                 }
             }
         }
-        result.add(g);
+        if (!g.isEmpty() && budget.acceptAny(CYCLE, g.getElements(), g.getSortedElements())) {
+            result.add(g);
+        }
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.model.Scope;
+import guru.nidi.codeassert.model.UsingElement;
+
+import java.util.*;
+
+class TransitiveAnalyzer<T extends UsingElement<T>> {
+    private final Scope<T> scope;
+    private final DependencyRules rules;
+    private final PatternMatches<T> matches;
+    private final List<DependencyRule> transitiveRules;
+
+    TransitiveAnalyzer(Scope<T> scope, DependencyRules rules, PatternMatches<T> matches,
+                       List<DependencyRule> transitiveRules) {
+        this.scope = scope;
+        this.rules = rules;
+        this.matches = matches;
+        this.transitiveRules = transitiveRules;
+    }
+
+    public void analyze(Dependencies result) {
+        final Set<T> targets = new HashSet<>();
+        for (final DependencyRule rule : transitiveRules) {
+            targets.addAll(matches.get(rule.use.mustTransitive));
+            targets.addAll(matches.get(rule.use.mustNotTransitive));
+        }
+        final Reachability<T> reachability = new Reachability<>(scope, targets);
+        for (final DependencyRule rule : transitiveRules) {
+            final List<T> elems = matches.get(rule.pattern);
+            analyzeMust(rule, elems, reachability, result);
+            analyzeMustNot(rule, elems, reachability, result);
+        }
+    }
+
+    private void analyzeMust(DependencyRule rule, List<T> elems, Reachability<T> reachability, Dependencies result) {
+        for (final T must : matches.get(rule.use.mustTransitive)) {
+            for (final T elem : elems) {
+                if (isCandidate(elem, must) && !reachability.reaches(elem, must)) {
+                    result.missing.with(rule.pattern.specificity(), elem, must);
+                }
+            }
+        }
+    }
+
+    private void analyzeMustNot(DependencyRule rule, List<T> elems, Reachability<T> reachability,
+                                Dependencies result) {
+        for (final T mustNot : matches.get(rule.use.mustNotTransitive)) {
+            for (final T elem : elems) {
+                if (isCandidate(elem, mustNot) && reachability.reaches(elem, mustNot)) {
+                    result.denied.with(rule.pattern.specificity(), elem.getName(),
+                            vias(elem, reachability.via(elem, mustNot)), mustNot.getName());
+                }
+            }
+        }
+    }
+
+    private boolean isCandidate(T elem, T dep) {
+        return !elem.equals(dep) && !rules.isAllowedIntraPackage(elem, dep);
+    }
+
+    private Set<String> vias(T elem, List<T> hops) {
+        final Set<String> vias = new HashSet<>();
+        for (final T hop : hops) {
+            vias.addAll(elem.usedVia(hop));
+        }
+        return vias;
+    }
+}
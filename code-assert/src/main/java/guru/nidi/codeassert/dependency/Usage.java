@@ -24,12 +24,16 @@ class Usage {
     final Set<LocationMatcher> must = new HashSet<>();
     final Set<LocationMatcher> may = new HashSet<>();
     final Set<LocationMatcher> mustNot = new HashSet<>();
+    final Set<LocationMatcher> mustTransitive = new HashSet<>();
+    final Set<LocationMatcher> mustNotTransitive = new HashSet<>();
 
     public Usage copy() {
         final Usage u = new Usage();
         u.must.addAll(must);
         u.may.addAll(may);
         u.mustNot.addAll(mustNot);
+        u.mustTransitive.addAll(mustTransitive);
+        u.mustNotTransitive.addAll(mustNotTransitive);
         return u;
     }
 
@@ -51,12 +55,31 @@ class Usage {
         }
     }
 
+    public void mustTransitive(JavaElement... rules) {
+        for (final JavaElement rule : rules) {
+            mustTransitive.add(rule.pattern);
+        }
+    }
+
+    public void mustNotTransitive(JavaElement... rules) {
+        for (final JavaElement rule : rules) {
+            mustNotTransitive.add(rule.pattern);
+        }
+    }
+
     public boolean isEmpty() {
-        return must.isEmpty() && may.isEmpty() && mustNot.isEmpty();
+        return must.isEmpty() && may.isEmpty() && mustNot.isEmpty() && !isTransitive();
+    }
+
+    public boolean isTransitive() {
+        return !mustTransitive.isEmpty() || !mustNotTransitive.isEmpty();
     }
 
     @Override
     public String toString() {
-        return "must " + must + ", may " + may + ", must not " + mustNot;
+        return "must " + must + ", may " + may + ", must not " + mustNot
+                + (isTransitive()
+                ? ", must transitively " + mustTransitive + ", must not transitively " + mustNotTransitive
+                : "");
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.config.UsageCounter;
+
+import java.util.*;
+
+import static guru.nidi.codeassert.dependency.DependencyCollector.*;
+
+/**
+ * Limits the number of violations per category that are searched for.
+ * Only violations accepted by the collector of the analyzer count.
+ */
+class ViolationBudget {
+    private static final List<String> TYPES = Arrays.asList(MISSING, DENIED, NOT_EXISTING, UNDEFINED, CYCLE);
+
+    private final int max;
+    private final DependencyAnalyzer analyzer;
+    private final UsageCounter counter = new UsageCounter();
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    ViolationBudget(int max, DependencyAnalyzer analyzer) {
+        this.max = max;
+        this.analyzer = analyzer;
+    }
+
+    static ViolationBudget unlimited() {
+        return new ViolationBudget(Integer.MAX_VALUE, null);
+    }
+
+    public boolean isLimited() {
+        return max < Integer.MAX_VALUE;
+    }
+
+    public boolean isExhausted(String type) {
+        return count(type) >= max;
+    }
+
+    public boolean isExhausted() {
+        for (final String type : TYPES) {
+            if (!isExhausted(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean accept(String type, Object name) {
+        return accept(type, name, "");
+    }
+
+    public boolean accept(String type, Object name, String target) {
+        return acceptAny(type, Collections.singleton(name), target);
+    }
+
+    /**
+     * @param type   the category of the violation
+     * @param names  the elements involved in the violation
+     * @param target the target of the violation, e.g. the members of a cycle
+     * @return if the budget is not exhausted and the collector accepts the violation for any element.
+     */
+    public boolean acceptAny(String type, Collection<?> names, String target) {
+        if (!isLimited()) {
+            return true;
+        }
+        if (!isExhausted(type)) {
+            for (final Object name : names) {
+                if (analyzer.accept(type, name, target, counter)) {
+                    counts.put(type, count(type) + 1);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int count(String type) {
+        final Integer count = counts.get(type);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class DotWriter extends GraphWriter {
+    DotWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    void start() throws IOException {
+        write("digraph dependencies {\n");
+    }
+
+    @Override
+    void node(String name) throws IOException {
+        write("  " + id(name) + ";\n");
+    }
+
+    @Override
+    void edge(GraphEdge edge) throws IOException {
+        final String attrs = (edge.denied ? ", color=red" : "") + (edge.cycle ? ", style=dashed" : "");
+        write("  " + id(edge.from) + " -> " + id(edge.to) + " [label=\"" + edge.count + "\"" + attrs + "];\n");
+    }
+
+    @Override
+    void end() throws IOException {
+        write("}\n");
+    }
+
+    private static String id(String name) {
+        return "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.export;
+
+class GraphEdge {
+    final String from;
+    final String to;
+    int count;
+    boolean denied;
+    boolean cycle;
+
+    GraphEdge(String from, String to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    GraphEdge add(int count, boolean denied, boolean cycle) {
+        this.count += count;
+        this.denied |= denied;
+        this.cycle |= cycle;
+        return this;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.export;
+
+import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.dependency.Dependencies;
+import guru.nidi.codeassert.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes the class or package graph of a model.
+ * Nodes and edges are written while iterating the model,
+ * so memory does not grow with the size of the graph.
+ * Only an aggregated graph is collected before it is written.
+ */
+public final class GraphExporter {
+    private final Model model;
+    private final boolean classes;
+    private final Dependencies dependencies;
+    private final int depth;
+
+    private GraphExporter(Model model, boolean classes, Dependencies dependencies, int depth) {
+        this.model = model;
+        this.classes = classes;
+        this.dependencies = dependencies;
+        this.depth = depth;
+    }
+
+    public static GraphExporter classes(Model model) {
+        return new GraphExporter(model, true, null, 0);
+    }
+
+    public static GraphExporter packages(Model model) {
+        return new GraphExporter(model, false, null, 0);
+    }
+
+    /**
+     * Mark the edges that are denied or part of a cycle.
+     *
+     * @param dependencies the result of a dependency analysis on the same level (classes or packages)
+     * @return A GraphExporter marking violations.
+     */
+    public GraphExporter withViolations(Dependencies dependencies) {
+        return new GraphExporter(model, classes, dependencies, depth);
+    }
+
+    /**
+     * Aggregate all nodes into packages truncated to the given number of name segments.
+     *
+     * @param depth the number of package name segments to keep, 0 for no aggregation
+     * @return A GraphExporter aggregating the nodes.
+     */
+    public GraphExporter aggregatedByDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative.");
+        }
+        return new GraphExporter(model, classes, dependencies, depth);
+    }
+
+    public void export(File file, GraphFormat format) {
+        final File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new AnalyzerException("Could not create directory " + parent);
+        }
+        try (final OutputStream out = new FileOutputStream(file)) {
+            export(out, format);
+        } catch (IOException e) {
+            throw new AnalyzerException("Problem exporting graph to " + file, e);
+        }
+    }
+
+    public void export(OutputStream out, GraphFormat format) {
+        export(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), format);
+    }
+
+    public void export(Writer out, GraphFormat format) {
+        final GraphWriter writer = format.writer(out);
+        try {
+            writer.start();
+            if (depth == 0) {
+                writePlain(writer);
+            } else {
+                writeAggregated(writer);
+            }
+            writer.end();
+            out.flush();
+        } catch (IOException e) {
+            throw new AnalyzerException("Problem exporting graph", e);
+        }
+    }
+
+    private void writePlain(GraphWriter writer) throws IOException {
+        for (final UsingElement<?> elem : elements()) {
+            writer.node(elem.getName());
+        }
+        for (final UsingElement<?> elem : elements()) {
+            for (final Map.Entry<? extends UsingElement<?>, Integer> use : usedCounts(elem).entrySet()) {
+                writer.edge(usage(elem, use));
+            }
+        }
+    }
+
+    private void writeAggregated(GraphWriter writer) throws IOException {
+        final Set<String> nodes = new TreeSet<>();
+        final Map<String, Map<String, GraphEdge>> edges = new TreeMap<>();
+        for (final UsingElement<?> elem : elements()) {
+            final String aggFrom = aggregate(elem.getPackageName());
+            final Map<? extends UsingElement<?>, Integer> counts = usedCounts(elem);
+            nodes.add(aggFrom);
+            for (final Map.Entry<? extends UsingElement<?>, Integer> use : counts.entrySet()) {
+                final String aggTo = aggregate(use.getKey().getPackageName());
+                nodes.add(aggTo);
+                if (!aggTo.equals(aggFrom)) {
+                    final GraphEdge usage = usage(elem, use);
+                    edge(edges, aggFrom, aggTo).add(usage.count, usage.denied, usage.cycle);
+                }
+            }
+        }
+        for (final String node : nodes) {
+            writer.node(node);
+        }
+        for (final Map<String, GraphEdge> froms : edges.values()) {
+            for (final GraphEdge edge : froms.values()) {
+                writer.edge(edge);
+            }
+        }
+    }
+
+    private GraphEdge usage(UsingElement<?> elem, Map.Entry<? extends UsingElement<?>, Integer> use) {
+        final String from = elem.getName();
+        final String to = use.getKey().getName();
+        return new GraphEdge(from, to).add(use.getValue(), isDenied(from, to), isInCycle(from, to));
+    }
+
+    private static GraphEdge edge(Map<String, Map<String, GraphEdge>> edges, String from, String to) {
+        Map<String, GraphEdge> froms = edges.get(from);
+        if (froms == null) {
+            froms = new TreeMap<>();
+            edges.put(from, froms);
+        }
+        final GraphEdge edge = froms.get(to);
+        if (edge != null) {
+            return edge;
+        }
+        final GraphEdge created = new GraphEdge(from, to);
+        froms.put(to, created);
+        return created;
+    }
+
+    private Collection<? extends UsingElement<?>> elements() {
+        return classes ? model.getClasses() : model.getPackages();
+    }
+
+    private Map<? extends UsingElement<?>, Integer> usedCounts(UsingElement<?> elem) {
+        return classes ? ((JavaClass) elem).usedClassCounts() : ((JavaPackage) elem).usedPackageCounts();
+    }
+
+    private String aggregate(String pack) {
+        int pos = -1;
+        for (int i = 0; i < depth; i++) {
+            pos = pack.indexOf('.', pos + 1);
+            if (pos < 0) {
+                return pack;
+            }
+        }
+        return pack.substring(0, pos);
+    }
+
+    private boolean isDenied(String from, String to) {
+        return dependencies != null && dependencies.isDenied(from, to);
+    }
+
+    private boolean isInCycle(String from, String to) {
+        return dependencies != null && dependencies.isInCycle(from, to);
+    }
+}
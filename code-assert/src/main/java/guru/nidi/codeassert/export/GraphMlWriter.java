@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class GraphMlWriter extends GraphWriter {
+    GraphMlWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    void start() throws IOException {
+        write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+                + "  <key id=\"count\" for=\"edge\" attr.name=\"count\" attr.type=\"int\"/>\n"
+                + "  <key id=\"denied\" for=\"edge\" attr.name=\"denied\" attr.type=\"boolean\"/>\n"
+                + "  <key id=\"cycle\" for=\"edge\" attr.name=\"cycle\" attr.type=\"boolean\"/>\n"
+                + "  <graph id=\"dependencies\" edgedefault=\"directed\">\n");
+    }
+
+    @Override
+    void node(String name) throws IOException {
+        write("    <node id=\"" + attr(name) + "\"/>\n");
+    }
+
+    @Override
+    void edge(GraphEdge edge) throws IOException {
+        write("    <edge source=\"" + attr(edge.from) + "\" target=\"" + attr(edge.to) + "\">"
+                + data("count", edge.count) + data("denied", edge.denied) + data("cycle", edge.cycle) + "</edge>\n");
+    }
+
+    @Override
+    void end() throws IOException {
+        write("  </graph>\n</graphml>\n");
+    }
+
+    private static String data(String key, Object value) {
+        return "<data key=\"" + key + "\">" + value + "</data>";
+    }
+
+    private static String attr(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
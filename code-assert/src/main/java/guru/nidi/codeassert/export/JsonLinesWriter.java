@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class JsonLinesWriter extends GraphWriter {
+    JsonLinesWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    void start() {
+        //nothing to do
+    }
+
+    @Override
+    void node(String name) throws IOException {
+        write("{\"type\":\"node\",\"name\":" + string(name) + "}\n");
+    }
+
+    @Override
+    void edge(GraphEdge edge) throws IOException {
+        write("{\"type\":\"edge\",\"from\":" + string(edge.from) + ",\"to\":" + string(edge.to)
+                + ",\"count\":" + edge.count + ",\"denied\":" + edge.denied + ",\"cycle\":" + edge.cycle + "}\n");
+    }
+
+    @Override
+    void end() {
+        //nothing to do
+    }
+
+    private static String string(String s) {
+        final StringBuilder json = new StringBuilder(s.length() + 2).append('"');
+        for (final char c : s.toCharArray()) {
+            if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                if (c == '"' || c == '\\') {
+                    json.append('\\');
+                }
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+}
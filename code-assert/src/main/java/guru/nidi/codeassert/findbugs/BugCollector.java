@@ -22,7 +22,8 @@ import guru.nidi.codeassert.util.ListUtils;
 
 import java.util.List;
 
-public class BugCollector extends BaseCollector<BugInstance, Ignore, BugCollector> {
+public class BugCollector extends BaseCollector<BugInstance, Ignore, BugCollector>
+        implements IndexedCollector<BugInstance> {
     private final Integer maxRank;
     private final Integer minPriority;
 
@@ -74,6 +75,11 @@ public class BugCollector extends BaseCollector<BugInstance, Ignore, BugCollecto
         );
     }
 
+    @Override
+    public String issueName(BugInstance issue) {
+        return issue.getType();
+    }
+
     @Override
     protected ActionResult doAccept(BugInstance issue, Ignore action) {
         final MethodAnnotation method = issue.getPrimaryMethod();
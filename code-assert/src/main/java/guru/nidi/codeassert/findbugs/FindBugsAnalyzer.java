@@ -19,9 +19,11 @@ import edu.umd.cs.findbugs.*;
 import edu.umd.cs.findbugs.config.UserPreferences;
 import guru.nidi.codeassert.Analyzer;
 import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.Instrumentation;
 import guru.nidi.codeassert.config.AnalyzerConfig;
 import guru.nidi.codeassert.config.UsageCounter;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -41,6 +43,8 @@ public class FindBugsAnalyzer implements Analyzer<List<BugInstance>> {
         }
     };
 
+    private static final String NAME = "findbugs";
+
     final AnalyzerConfig config;
     private final BugCollector collector;
 
@@ -50,22 +54,31 @@ public class FindBugsAnalyzer implements Analyzer<List<BugInstance>> {
     }
 
     public FindBugsResult analyze() {
-        final Project project = createProject();
-        final BugCollectionBugReporter bugReporter = createReporter(project);
-        final FindBugs2 findBugs = createFindBugs(project, bugReporter);
+        final Instrumentation.Phase analyze = Instrumentation.start(NAME, Instrumentation.ANALYZE);
         try {
-            findBugs.execute();
+            final Project project = createProject();
+            final BugCollectionBugReporter bugReporter = createReporter(project);
+            final FindBugs2 findBugs = createFindBugs(project, bugReporter);
+            final Instrumentation.Phase execute = Instrumentation.start(NAME, NAME);
+            try {
+                findBugs.execute();
+            } finally {
+                execute.end();
+            }
+            Instrumentation.countFiles(NAME, config.getClasses());
+            return createBugList(bugReporter);
         } catch (IOException | InterruptedException e) {
             throw new AnalyzerException("Problem executing FindBugs.", e);
+        } finally {
+            analyze.end();
         }
-        return createBugList(bugReporter);
     }
 
     private Project createProject() {
         final Project project = new Project();
         PluginLoader.addPluginsTo(project);
 
-        for (final AnalyzerConfig.Path clazz : config.getClassPaths()) {
+        for (final File clazz : config.getClasses()) {
             project.addFile(clazz.getPath());
         }
         for (final AnalyzerConfig.Path source : config.getSourcePaths()) {
@@ -96,17 +109,23 @@ public class FindBugsAnalyzer implements Analyzer<List<BugInstance>> {
     }
 
     private FindBugsResult createBugList(BugCollectionBugReporter bugReporter) {
+        final Instrumentation.Phase filter = Instrumentation.start(NAME, Instrumentation.FILTER);
         final Collection<BugInstance> bugs = bugReporter.getBugCollection().getCollection();
         final List<BugInstance> sorted = new ArrayList<>(bugs);
         Collections.sort(sorted, BUG_SORTER);
-        final List<BugInstance> filtered = new ArrayList<>();
+        final List<BugInstance> reported = new ArrayList<>();
         final UsageCounter counter = new UsageCounter();
-        for (final BugInstance bug : sorted) {
-            if (counter.accept(collector.accept(bug))) {
-                filtered.add(bug);
+        try {
+            for (final BugInstance bug : sorted) {
+                if (counter.accept(collector.accept(bug))) {
+                    reported.add(bug);
+                }
             }
+        } finally {
+            filter.end();
         }
+        Instrumentation.countFindings(NAME, counter.getEvaluated(), reported.size(), counter.getUsedActions());
         collector.printUnusedWarning(counter);
-        return new FindBugsResult(this, filtered, collector.unusedActions(counter));
+        return new FindBugsResult(this, reported, collector.unusedActions(counter));
     }
 }
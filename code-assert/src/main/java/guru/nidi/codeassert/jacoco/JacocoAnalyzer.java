@@ -17,6 +17,7 @@ package guru.nidi.codeassert.jacoco;
 
 import guru.nidi.codeassert.Analyzer;
 import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.Instrumentation;
 import guru.nidi.codeassert.config.UsageCounter;
 import guru.nidi.codeassert.config.ValuedLocation;
 
@@ -24,6 +25,8 @@ import java.io.*;
 import java.util.*;
 
 public class JacocoAnalyzer implements Analyzer<List<ValuedLocation>> {
+    private static final String NAME = "jacoco";
+
     private final File jacocoCsv;
     private final CoverageCollector collector;
 
@@ -41,8 +44,14 @@ public class JacocoAnalyzer implements Analyzer<List<ValuedLocation>> {
 
     @Override
     public JacocoResult analyze() {
-        final Coverages coverages = readReport();
-        return filterResult(coverages);
+        final Instrumentation.Phase analyze = Instrumentation.start(NAME, Instrumentation.ANALYZE);
+        try {
+            Instrumentation.countFiles(NAME, Collections.singleton(jacocoCsv));
+            final Coverages coverages = readReport();
+            return filterResult(coverages);
+        } finally {
+            analyze.end();
+        }
     }
 
     private Coverages readReport() {
@@ -67,11 +76,17 @@ public class JacocoAnalyzer implements Analyzer<List<ValuedLocation>> {
     }
 
     private JacocoResult filterResult(Coverages coverages) {
+        final Instrumentation.Phase filter = Instrumentation.start(NAME, Instrumentation.FILTER);
         final List<ValuedLocation> filtered = new ArrayList<>();
         final UsageCounter counter = new UsageCounter();
-        filter(filtered, Collections.singleton(coverages.global), counter);
-        filter(filtered, coverages.perPackage.values(), counter);
-        filter(filtered, coverages.coverages, counter);
+        try {
+            filter(filtered, Collections.singleton(coverages.global), counter);
+            filter(filtered, coverages.perPackage.values(), counter);
+            filter(filtered, coverages.coverages, counter);
+        } finally {
+            filter.end();
+        }
+        Instrumentation.countFindings(NAME, counter.getEvaluated(), filtered.size(), counter.getUsedActions());
         collector.printUnusedWarning(counter);
         return new JacocoResult(this, filtered, collector.unusedActions(counter), collector.types);
     }
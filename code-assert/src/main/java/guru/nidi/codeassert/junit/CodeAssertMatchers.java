@@ -30,23 +30,23 @@ public final class CodeAssertMatchers {
     private CodeAssertMatchers() {
     }
 
-    public static Matcher<DependencyResult> matchesRules() {
+    public static DependencyResultMatcher matchesRules() {
         return new DependencyResultMatcher(false, false);
     }
 
-    public static Matcher<DependencyResult> matchesRulesExactly() {
+    public static DependencyResultMatcher matchesRulesExactly() {
         return new DependencyResultMatcher(true, true);
     }
 
-    public static Matcher<DependencyResult> matchesRulesIgnoringNonExisting() {
+    public static DependencyResultMatcher matchesRulesIgnoringNonExisting() {
         return new DependencyResultMatcher(false, true);
     }
 
-    public static Matcher<DependencyResult> matchesRulesIgnoringUndefined() {
+    public static DependencyResultMatcher matchesRulesIgnoringUndefined() {
         return new DependencyResultMatcher(true, false);
     }
 
-    public static Matcher<DependencyResult> hasNoCycles() {
+    public static DependencyCycleMatcher hasNoCycles() {
         return new DependencyCycleMatcher();
     }
 
@@ -15,20 +15,28 @@
  */
 package guru.nidi.codeassert.junit;
 
+import guru.nidi.codeassert.AnalyzerRunner;
 import guru.nidi.codeassert.checkstyle.CheckstyleResult;
 import guru.nidi.codeassert.dependency.DependencyResult;
 import guru.nidi.codeassert.findbugs.FindBugsResult;
 import guru.nidi.codeassert.pmd.CpdResult;
 import guru.nidi.codeassert.pmd.PmdResult;
 
-import java.util.EnumSet;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
+import static guru.nidi.codeassert.junit.CodeAssertTestType.*;
+
+/**
+ * The first access to any result starts the analyses needed by {@link #defaultTests()} concurrently,
+ * so the total time is about the time of the slowest analysis.
+ * Other analyses are only started when their result is accessed.
+ * The results are shared by all instances of a test class.
+ */
 public class CodeAssertTestBase {
-    private static DependencyResult dependencyResult;
-    private static FindBugsResult findBugsResult;
-    private static PmdResult pmdResult;
-    private static CpdResult cpdResult;
-    private static CheckstyleResult checkstyleResult;
+    private static final int MAX_THREADS = 5;
+    private static final Map<Class<?>, Analyses> ANALYSES = new HashMap<>();
 
     protected EnumSet<CodeAssertTestType> defaultTests() {
         return EnumSet.allOf(CodeAssertTestType.class);
@@ -54,38 +62,90 @@ public class CodeAssertTestBase {
         return null;
     }
 
-    protected synchronized DependencyResult dependencyResult() {
-        if (dependencyResult == null) {
-            dependencyResult = analyzeDependencies();
-        }
-        return dependencyResult;
+    protected DependencyResult dependencyResult() {
+        return analyses().dependency.await();
     }
 
-    protected synchronized FindBugsResult findBugsResult() {
-        if (findBugsResult == null) {
-            findBugsResult = analyzeFindBugs();
-        }
-        return findBugsResult;
+    protected FindBugsResult findBugsResult() {
+        return analyses().findBugs.await();
+    }
+
+    protected PmdResult pmdResult() {
+        return analyses().pmd.await();
+    }
+
+    protected CpdResult cpdResult() {
+        return analyses().cpd.await();
+    }
+
+    protected CheckstyleResult checkstyleResult() {
+        return analyses().checkstyle.await();
     }
 
-    protected synchronized PmdResult pmdResult() {
-        if (pmdResult == null) {
-            pmdResult = analyzePmd();
+    private Analyses analyses() {
+        synchronized (ANALYSES) {
+            Analyses analyses = ANALYSES.get(getClass());
+            if (analyses == null) {
+                analyses = new Analyses(this);
+                ANALYSES.put(getClass(), analyses);
+            }
+            return analyses;
         }
-        return pmdResult;
     }
 
-    protected synchronized CpdResult cpdResult() {
-        if (cpdResult == null) {
-            cpdResult = analyzeCpd();
+    private static class Analyses {
+        final Analysis<DependencyResult> dependency;
+        final Analysis<FindBugsResult> findBugs;
+        final Analysis<PmdResult> pmd;
+        final Analysis<CpdResult> cpd;
+        final Analysis<CheckstyleResult> checkstyle;
+
+        Analyses(CodeAssertTestBase test) {
+            final AnalyzerRunner runner = new AnalyzerRunner(
+                    Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+            final EnumSet<CodeAssertTestType> tests = test.defaultTests();
+            dependency = new Analysis<>(runner, test::analyzeDependencies)
+                    .startIf(tests, CIRCULAR_DEPENDENCIES);
+            findBugs = new Analysis<>(runner, test::analyzeFindBugs)
+                    .startIf(tests, FIND_BUGS, FIND_BUGS_UNUSED_ACTIONS);
+            pmd = new Analysis<>(runner, test::analyzePmd)
+                    .startIf(tests, PMD, PMD_UNUSED_ACTIONS);
+            cpd = new Analysis<>(runner, test::analyzeCpd)
+                    .startIf(tests, CPD, CPD_UNUSED_ACTIONS);
+            checkstyle = new Analysis<>(runner, test::analyzeCheckstyle)
+                    .startIf(tests, CHECKSTYLE, CHECKSTYLE_UNUSED_ACTIONS);
         }
-        return cpdResult;
     }
 
-    protected synchronized CheckstyleResult checkstyleResult() {
-        if (checkstyleResult == null) {
-            checkstyleResult = analyzeCheckstyle();
+    private static class Analysis<R> {
+        private final AnalyzerRunner runner;
+        private final Callable<R> analysis;
+        private Future<R> result;
+
+        Analysis(AnalyzerRunner runner, Callable<R> analysis) {
+            this.runner = runner;
+            this.analysis = analysis;
+        }
+
+        Analysis<R> startIf(EnumSet<CodeAssertTestType> tests, CodeAssertTestType... types) {
+            for (final CodeAssertTestType type : types) {
+                if (tests.contains(type)) {
+                    start();
+                    break;
+                }
+            }
+            return this;
+        }
+
+        synchronized Future<R> start() {
+            if (result == null) {
+                result = runner.submit(analysis);
+            }
+            return result;
+        }
+
+        R await() {
+            return AnalyzerRunner.await(start());
         }
-        return checkstyleResult;
     }
 }
@@ -29,6 +29,7 @@ import java.util.*;
  */
 public class JavaClass extends UsingElement<JavaClass> {
     private final String name;
+    private final int id;
     private final JavaPackage pack;
     private final CountSet<JavaPackage> usedPackages;
     private final CountSet<JavaClass> usedClasses;
@@ -39,8 +40,9 @@ public class JavaClass extends UsingElement<JavaClass> {
     int codeSize;
     int totalSize;
 
-    JavaClass(String name, JavaPackage pack) {
+    JavaClass(String name, int id, JavaPackage pack) {
         this.name = name;
+        this.id = id;
         this.pack = pack;
         usedPackages = new CountSet<>();
         usedClasses = new CountSet<>();
@@ -52,6 +54,11 @@ public class JavaClass extends UsingElement<JavaClass> {
         return name;
     }
 
+    @Override
+    public int getId() {
+        return id;
+    }
+
     public JavaPackage getPackage() {
         return pack;
     }
@@ -136,7 +143,7 @@ public class JavaClass extends UsingElement<JavaClass> {
             final String packName = Model.packageOf(type);
             final JavaPackage p = model.getOrCreatePackage(packName);
             usedPackages.add(p);
-            pack.addEfferent(p);
+            pack.classChanged();
             usedClasses.add(model.getOrCreateClass(type));
         }
     }
@@ -28,14 +28,17 @@ import java.util.*;
 
 public class JavaPackage extends UsingElement<JavaPackage> {
     private final String name;
+    private final int id;
     private final Set<JavaClass> classes;
-    private final List<JavaPackage> uses;
+    private final Map<JavaPackage, PackageEdge> uses;
     private final Set<JavaClass> annotations;
+    private boolean aggregated;
 
-    JavaPackage(String name) {
+    JavaPackage(String name, int id) {
         this.name = name;
+        this.id = id;
         classes = new HashSet<>();
-        uses = new ArrayList<>();
+        uses = new LinkedHashMap<>();
         annotations = new HashSet<>();
     }
 
@@ -44,8 +47,14 @@ public class JavaPackage extends UsingElement<JavaPackage> {
         return name;
     }
 
+    @Override
+    public int getId() {
+        return id;
+    }
+
     public void addClass(JavaClass clazz) {
         classes.add(clazz);
+        aggregated = false;
     }
 
     public void addAnnotation(JavaClass clazz) {
@@ -60,17 +69,53 @@ public class JavaPackage extends UsingElement<JavaPackage> {
         return annotations;
     }
 
-    void addEfferent(JavaPackage jPackage) {
-        if (!jPackage.getName().equals(getName()) && !uses.contains(jPackage)) {
-            uses.add(jPackage);
+    void classChanged() {
+        aggregated = false;
+    }
+
+    /**
+     * Derive the package dependencies from the class dependencies in one pass.
+     * This is done lazily, so parsing a class does not have to update its package.
+     */
+    void aggregate() {
+        if (!aggregated) {
+            uses.clear();
+            for (final JavaClass clazz : classes) {
+                for (final Map.Entry<JavaPackage, Integer> use : clazz.usedPackageCounts().entrySet()) {
+                    if (!use.getKey().equals(this)) {
+                        edgeTo(use.getKey()).add(clazz, use.getValue());
+                    }
+                }
+            }
+            aggregated = true;
+        }
+    }
+
+    private PackageEdge edgeTo(JavaPackage pack) {
+        PackageEdge edge = uses.get(pack);
+        if (edge == null) {
+            edge = new PackageEdge();
+            uses.put(pack, edge);
+        }
+        return edge;
+    }
+
+    public Map<JavaPackage, Integer> usedPackageCounts() {
+        aggregate();
+        final Map<JavaPackage, Integer> counts = new LinkedHashMap<>();
+        for (final Map.Entry<JavaPackage, PackageEdge> use : uses.entrySet()) {
+            counts.put(use.getKey(), use.getValue().count);
         }
+        return counts;
     }
 
     @Override
     public Set<String> usedVia(UsingElement<JavaPackage> to) {
+        aggregate();
         final Set<String> res = new HashSet<>();
-        for (final JavaClass jc : getClasses()) {
-            if (jc.uses(to.self())) {
+        final PackageEdge edge = uses.get(to.self());
+        if (edge != null) {
+            for (final JavaClass jc : edge.classes) {
                 res.add(jc.getName());
             }
         }
@@ -94,7 +139,8 @@ public class JavaPackage extends UsingElement<JavaPackage> {
 
     @Override
     public Collection<JavaPackage> uses() {
-        return uses;
+        aggregate();
+        return uses.keySet();
     }
 
     public boolean equals(Object other) {
@@ -16,6 +16,7 @@
 package guru.nidi.codeassert.model;
 
 import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.Instrumentation;
 
 import java.io.*;
 import java.util.*;
@@ -24,6 +25,7 @@ import java.util.zip.ZipEntry;
 
 public class Model {
     public static final String UNNAMED_PACKAGE = "<Unnamed Package>";
+    private static final String NAME = "model";
 
     final Map<String, JavaPackage> packages = new HashMap<>();
     final Map<String, JavaClass> classes = new HashMap<>();
@@ -33,6 +35,7 @@ public class Model {
     }
 
     public static Model from(List<File> files) {
+        final Instrumentation.Phase parse = Instrumentation.start(NAME, Instrumentation.PARSE);
         try {
             final Model model = new Model();
             final ClassFileParser parser = new ClassFileParser();
@@ -41,9 +44,15 @@ public class Model {
                     add(parser, model, file.getName(), in);
                 }
             }
+            for (final JavaPackage pack : model.packages.values()) {
+                pack.aggregate();
+            }
+            Instrumentation.countFiles(NAME, files);
             return model;
         } catch (IOException e) {
             throw new AnalyzerException("Problem creating a Model", e);
+        } finally {
+            parse.end();
         }
     }
 
@@ -68,7 +77,7 @@ public class Model {
     JavaPackage getOrCreatePackage(String name) {
         JavaPackage pack = packages.get(name);
         if (pack == null) {
-            pack = new JavaPackage(name);
+            pack = new JavaPackage(name, packages.size());
             packages.put(name, pack);
         }
         return pack;
@@ -78,7 +87,7 @@ public class Model {
         JavaClass clazz = classes.get(name);
         if (clazz == null) {
             final JavaPackage pack = getOrCreatePackage(packageOf(name));
-            clazz = new JavaClass(name, pack);
+            clazz = new JavaClass(name, classes.size(), pack);
             classes.put(name, clazz);
             pack.addClass(clazz);
         }
@@ -17,6 +17,7 @@ package guru.nidi.codeassert.model;
 
 import guru.nidi.codeassert.config.LocationMatcher;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 
@@ -25,6 +26,11 @@ public abstract class UsingElement<T> {
 
     public abstract String getName();
 
+    /**
+     * @return a small non negative number, unique among all elements of the same type in a model.
+     */
+    public abstract int getId();
+
     public abstract String getPackageName();
 
     public abstract Collection<String> usedVia(UsingElement<T> other);
@@ -47,6 +53,18 @@ public abstract class UsingElement<T> {
         return s;
     }
 
+    /**
+     * @param elems the elements
+     * @return A bitset containing the ids of the given elements.
+     */
+    public static BitSet ids(Collection<? extends UsingElement<?>> elems) {
+        final BitSet ids = new BitSet();
+        for (final UsingElement<?> elem : elems) {
+            ids.set(elem.getId());
+        }
+        return ids;
+    }
+
     public boolean matchesAny(List<? extends UsingElementMatcher> matchers) {
         for (final UsingElementMatcher matcher : matchers) {
             if (matcher.matches(this)) {
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.pmd;
+
+import net.sourceforge.pmd.Rule;
+import net.sourceforge.pmd.RuleViolation;
+
+import java.io.*;
+
+/**
+ * A violation read from the {@link PmdCache}.
+ */
+class CachedViolation implements RuleViolation {
+    private final Rule rule;
+    private final String description;
+    private final String filename;
+    private final int beginLine;
+    private final int beginColumn;
+    private final int endLine;
+    private final int endColumn;
+    private final String packageName;
+    private final String className;
+    private final String methodName;
+    private final String variableName;
+    private final boolean suppressed;
+
+    CachedViolation(Rule rule, DataInput in) throws IOException {
+        this.rule = rule;
+        description = in.readUTF();
+        filename = in.readUTF();
+        beginLine = in.readInt();
+        beginColumn = in.readInt();
+        endLine = in.readInt();
+        endColumn = in.readInt();
+        packageName = in.readUTF();
+        className = in.readUTF();
+        methodName = in.readUTF();
+        variableName = in.readUTF();
+        suppressed = in.readBoolean();
+    }
+
+    static void write(RuleViolation violation, DataOutput out) throws IOException {
+        out.writeUTF(violation.getRule().getName());
+        writeString(violation.getDescription(), out);
+        writeString(violation.getFilename(), out);
+        out.writeInt(violation.getBeginLine());
+        out.writeInt(violation.getBeginColumn());
+        out.writeInt(violation.getEndLine());
+        out.writeInt(violation.getEndColumn());
+        writeString(violation.getPackageName(), out);
+        writeString(violation.getClassName(), out);
+        writeString(violation.getMethodName(), out);
+        writeString(violation.getVariableName(), out);
+        out.writeBoolean(violation.isSuppressed());
+    }
+
+    private static void writeString(String s, DataOutput out) throws IOException {
+        out.writeUTF(s == null ? "" : s);
+    }
+
+    @Override
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean isSuppressed() {
+        return suppressed;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    @Override
+    public int getBeginColumn() {
+        return beginColumn;
+    }
+
+    @Override
+    public int getEndLine() {
+        return endLine;
+    }
+
+    @Override
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    @Override
+    public String getPackageName() {
+        return packageName;
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public String getMethodName() {
+        return methodName;
+    }
+
+    @Override
+    public String getVariableName() {
+        return variableName;
+    }
+}
@@ -17,15 +17,17 @@ package guru.nidi.codeassert.pmd;
 
 import guru.nidi.codeassert.Analyzer;
 import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.Instrumentation;
 import guru.nidi.codeassert.config.AnalyzerConfig;
 import guru.nidi.codeassert.config.UsageCounter;
 import net.sourceforge.pmd.cpd.*;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
 public class CpdAnalyzer implements Analyzer<List<Match>> {
+    private static final String NAME = "cpd";
+
     private final AnalyzerConfig config;
     private final int minTokens;
     private final CpdMatchCollector collector;
@@ -38,20 +40,29 @@ public class CpdAnalyzer implements Analyzer<List<Match>> {
 
     @Override
     public CpdResult analyze() {
-        final CPD cpd = createCpd();
-        cpd.go();
-        return processMatches(cpd.getMatches());
+        final Instrumentation.Phase analyze = Instrumentation.start(NAME, Instrumentation.ANALYZE);
+        try {
+            final CPD cpd = createCpd();
+            final Instrumentation.Phase tokenize = Instrumentation.start(NAME, NAME);
+            try {
+                cpd.go();
+            } finally {
+                tokenize.end();
+            }
+            return processMatches(cpd.getMatches());
+        } finally {
+            analyze.end();
+        }
     }
 
     private CPD createCpd() {
         final CPD cpd = new CPD(createCpdConfig());
-        for (final AnalyzerConfig.Path source : config.getSourcePaths()) {
-            try {
-                cpd.addRecursively(new File(source.getPath()));
-            } catch (IOException e) {
-                throw new AnalyzerException("Problem reading directory '" + source + "'", e);
-            }
+        try {
+            cpd.add(config.getSources());
+        } catch (IOException e) {
+            throw new AnalyzerException("Problem reading source files", e);
         }
+        Instrumentation.countFiles(NAME, config.getSources());
         return cpd;
     }
 
@@ -63,14 +74,20 @@ public class CpdAnalyzer implements Analyzer<List<Match>> {
     }
 
     private CpdResult processMatches(Iterator<Match> matches) {
+        final Instrumentation.Phase filter = Instrumentation.start(NAME, Instrumentation.FILTER);
         final List<Match> res = new ArrayList<>();
         final UsageCounter counter = new UsageCounter();
-        while (matches.hasNext()) {
-            final Match match = matches.next();
-            if (counter.accept(collector.accept(match))) {
-                res.add(match);
+        try {
+            while (matches.hasNext()) {
+                final Match match = matches.next();
+                if (counter.accept(collector.accept(match))) {
+                    res.add(match);
+                }
             }
+        } finally {
+            filter.end();
         }
+        Instrumentation.countFindings(NAME, counter.getEvaluated(), res.size(), counter.getUsedActions());
         collector.printUnusedWarning(counter);
         return new CpdResult(this, res, collector.unusedActions(counter));
     }
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.pmd;
+
+import guru.nidi.codeassert.config.UsageCounter;
+import net.sourceforge.pmd.Report;
+import net.sourceforge.pmd.RuleViolation;
+import net.sourceforge.pmd.renderers.AbstractRenderer;
+import net.sourceforge.pmd.util.datasource.DataSource;
+import org.apache.commons.io.output.NullWriter;
+
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Filters the violations of each file as soon as PMD has analyzed it.
+ * Only the accepted violations are kept, no complete PMD report.
+ */
+class FilteringRenderer extends AbstractRenderer {
+    private final PmdViolationCollector collector;
+    private final UsageCounter counter = new UsageCounter();
+    private final List<RuleViolation> violations = new ArrayList<>();
+    private final Set<String> failedFiles = new HashSet<>();
+
+    /**
+     * Create a renderer that filters with the given collector.
+     *
+     * @param collector the collector deciding which violations to keep, null to keep all violations.
+     */
+    FilteringRenderer(PmdViolationCollector collector) {
+        super("", "");
+        super.setWriter(new NullWriter());
+        this.collector = collector;
+    }
+
+    @Override
+    public void setWriter(Writer writer) {
+        //we want to keep NullWriter, no logging whatsoever, we are only interested in the violations
+    }
+
+    @Override
+    public String defaultFileExtension() {
+        return null;
+    }
+
+    @Override
+    public void start() {
+        //do nothing
+    }
+
+    @Override
+    public void startFileAnalysis(DataSource dataSource) {
+        //do nothing
+    }
+
+    @Override
+    public synchronized void renderFileReport(Report report) {
+        accept(report);
+        final Iterator<Report.ProcessingError> errors = report.errors();
+        while (errors.hasNext()) {
+            failedFiles.add(errors.next().getFile());
+        }
+    }
+
+    @Override
+    public void end() {
+        //do nothing
+    }
+
+    synchronized void accept(Iterable<RuleViolation> found) {
+        for (final RuleViolation violation : found) {
+            if (collector == null || counter.accept(collector.accept(violation))) {
+                violations.add(violation);
+            }
+        }
+    }
+
+    synchronized List<RuleViolation> getViolations() {
+        return new ArrayList<>(violations);
+    }
+
+    synchronized UsageCounter getCounter() {
+        return counter;
+    }
+
+    synchronized Set<String> getFailedFiles() {
+        return new HashSet<>(failedFiles);
+    }
+}
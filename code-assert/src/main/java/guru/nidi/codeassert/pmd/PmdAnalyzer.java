@@ -17,15 +17,12 @@ package guru.nidi.codeassert.pmd;
 
 import guru.nidi.codeassert.Analyzer;
 import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.Instrumentation;
 import guru.nidi.codeassert.config.AnalyzerConfig;
 import guru.nidi.codeassert.config.UsageCounter;
 import net.sourceforge.pmd.*;
-import net.sourceforge.pmd.renderers.AbstractAccumulatingRenderer;
-import net.sourceforge.pmd.renderers.Renderer;
-import org.apache.commons.io.output.NullWriter;
 
-import java.io.IOException;
-import java.io.Writer;
+import java.io.File;
 import java.util.*;
 
 public class PmdAnalyzer implements Analyzer<List<RuleViolation>> {
@@ -40,18 +37,28 @@ public class PmdAnalyzer implements Analyzer<List<RuleViolation>> {
         }
     };
 
+    static final String NAME = "pmd";
+
     private final AnalyzerConfig config;
     private final PmdViolationCollector collector;
     private final Map<String, Ruleset> rulesets;
+    private final int threads;
+    private final File cacheFile;
+    private final boolean defaultCache;
 
     public PmdAnalyzer(AnalyzerConfig config, PmdViolationCollector collector) {
-        this(config, new HashMap<String, Ruleset>(), collector);
+        this(config, new HashMap<String, Ruleset>(), collector, Runtime.getRuntime().availableProcessors(),
+                null, false);
     }
 
-    private PmdAnalyzer(AnalyzerConfig config, Map<String, Ruleset> rulesets, PmdViolationCollector collector) {
+    private PmdAnalyzer(AnalyzerConfig config, Map<String, Ruleset> rulesets, PmdViolationCollector collector,
+                        int threads, File cacheFile, boolean defaultCache) {
         this.config = config;
         this.collector = collector;
         this.rulesets = rulesets;
+        this.threads = threads;
+        this.cacheFile = cacheFile;
+        this.defaultCache = defaultCache;
     }
 
     public PmdAnalyzer withRulesets(Ruleset... rulesets) {
@@ -60,7 +67,7 @@ public class PmdAnalyzer implements Analyzer<List<RuleViolation>> {
         for (final Ruleset ruleset : rulesets) {
             newRuleset.put(ruleset.name, ruleset);
         }
-        return new PmdAnalyzer(config, newRuleset, collector);
+        return new PmdAnalyzer(config, newRuleset, collector, threads, cacheFile, defaultCache);
     }
 
     public PmdAnalyzer withoutRulesets(Ruleset... rulesets) {
@@ -69,7 +76,45 @@ public class PmdAnalyzer implements Analyzer<List<RuleViolation>> {
         for (final Ruleset ruleset : rulesets) {
             newRuleset.remove(ruleset.name);
         }
-        return new PmdAnalyzer(config, newRuleset, collector);
+        return new PmdAnalyzer(config, newRuleset, collector, threads, cacheFile, defaultCache);
+    }
+
+    /**
+     * Set the number of threads PMD uses to analyze files.
+     * The default is the number of available processors.
+     *
+     * @param threads the number of threads, 0 to analyze all files in the calling thread.
+     * @return a PmdAnalyzer using the given number of threads.
+     */
+    public PmdAnalyzer withThreads(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("Number of threads must not be negative.");
+        }
+        return new PmdAnalyzer(config, rulesets, collector, threads, cacheFile, defaultCache);
+    }
+
+    /**
+     * Use a cache file in the target directory, see {@link #withCache(File)}.
+     * The name of the file depends on the rulesets,
+     * so analyzers with different rulesets don't overwrite each other's cache.
+     *
+     * @return a PmdAnalyzer using the default cache file.
+     */
+    public PmdAnalyzer withCache() {
+        return new PmdAnalyzer(config, rulesets, collector, threads, null, true);
+    }
+
+    /**
+     * Only analyze source files that have changed since the last analysis.
+     * The violations of the other files are taken from a cache.
+     * The cache is invalid when the PMD version, the rulesets or their properties change.
+     * Each combination of sources and rulesets should use its own cache file.
+     *
+     * @param cacheFile the cache file, null to analyze all files every time.
+     * @return a PmdAnalyzer using the given cache.
+     */
+    public PmdAnalyzer withCache(File cacheFile) {
+        return new PmdAnalyzer(config, rulesets, collector, threads, cacheFile, false);
     }
 
     @Override
@@ -78,78 +123,81 @@ public class PmdAnalyzer implements Analyzer<List<RuleViolation>> {
             throw new AnalyzerException("No rulesets defined. Use the withRulesets methods to define some. "
                     + "See Rulesets class for predefined rule sets.");
         }
-        final PmdRenderer renderer = new PmdRenderer();
-        final PMDConfiguration pmdConfig = createPmdConfig(renderer);
-        PMD.doPMD(pmdConfig);
-        return processViolations(renderer);
-    }
-
-    private PmdResult processViolations(PmdRenderer renderer) {
-        final List<RuleViolation> violations = new ArrayList<>();
-        final UsageCounter counter = new UsageCounter();
-        if (renderer.getReport() != null) {
-            for (final RuleViolation violation : renderer.getReport()) {
-                if (counter.accept(collector.accept(violation))) {
-                    violations.add(violation);
+        final Instrumentation.Phase analyze = Instrumentation.start(NAME, Instrumentation.ANALYZE);
+        try {
+            Instrumentation.countFiles(NAME, config.getSources());
+            if (cacheFile == null && !defaultCache) {
+                final FilteringRenderer renderer = new FilteringRenderer(collector);
+                try (final PooledRulesConfiguration pmdConfig = createPmdConfig(renderer)) {
+                    runPmd(pmdConfig, config.getSources());
                 }
+                return processViolations(renderer);
             }
+            return processViolations(analyzeCached());
+        } finally {
+            analyze.end();
         }
-        Collections.sort(violations, VIOLATION_SORTER);
-        collector.printUnusedWarning(counter);
-        return new PmdResult(this, violations, collector.unusedActions(counter));
     }
 
-    private PMDConfiguration createPmdConfig(final PmdRenderer renderer) {
-        final PMDConfiguration pmdConfig = new PMDConfiguration() {
-            @Override
-            public Renderer createRenderer() {
-                for (final Ruleset ruleset : rulesets.values()) {
-                    ruleset.apply(this);
-                }
-                return renderer;
+    private FilteringRenderer analyzeCached() {
+        final FilteringRenderer renderer = new FilteringRenderer(null);
+        final List<File> sources = config.getSources();
+        try (final PooledRulesConfiguration pmdConfig = createPmdConfig(renderer)) {
+            final File file = defaultCache ? defaultCacheFile(pmdConfig.getKey()) : cacheFile;
+            final PmdCache cache = PmdCache.load(file, pmdConfig.getKey(), pmdConfig.getPmdRuleSets());
+            final List<File> changed = cache.changed(sources);
+            Instrumentation.count(NAME, Instrumentation.CACHED_FILES, sources.size() - changed.size());
+            if (!changed.isEmpty()) {
+                runPmd(pmdConfig, changed);
+                cache.update(changed, renderer.getViolations(), renderer.getFailedFiles());
             }
-        };
-        final StringBuilder inputs = new StringBuilder();
-        for (final AnalyzerConfig.Path source : config.getSourcePaths()) {
-            inputs.append(',').append(source.getPath());
+            cache.save();
+            final FilteringRenderer filtered = new FilteringRenderer(collector);
+            filtered.accept(cache.violations(sources));
+            return filtered;
         }
-        pmdConfig.setInputPaths(inputs.substring(1));
-        pmdConfig.setRuleSets(ruleSetNames());
-        pmdConfig.setThreads(0);
-        return pmdConfig;
     }
 
-    private String ruleSetNames() {
-        final StringBuilder s = new StringBuilder();
-        for (final Ruleset ruleset : rulesets.values()) {
-            s.append(',').append(ruleset.name);
-        }
-        return rulesets.isEmpty() ? "" : s.substring(1);
+    //a collision of hashes only makes the cache miss, as the cache file contains the full key
+    static File defaultCacheFile(String key) {
+        return new File("target/code-assert-pmd-" + Integer.toHexString(key.hashCode()) + ".cache");
     }
 
-    private static class PmdRenderer extends AbstractAccumulatingRenderer {
-        PmdRenderer() {
-            super("", "");
-            super.setWriter(new NullWriter());
+    //the files are passed explicitly, so the include and exclude patterns of the config are respected
+    private void runPmd(PMDConfiguration pmdConfig, List<File> sources) {
+        if (sources.isEmpty()) {
+            return;
         }
-
-        @Override
-        public void setWriter(Writer writer) {
-            //we want to keep NullWriter, no logging whatsoever, we are only interested in report
+        final StringBuilder inputs = new StringBuilder();
+        for (final File source : sources) {
+            inputs.append(',').append(source.getAbsolutePath());
         }
-
-        @Override
-        public String defaultFileExtension() {
-            return null;
+        pmdConfig.setInputPaths(inputs.substring(1));
+        final Instrumentation.Phase pmd = Instrumentation.start(NAME, NAME);
+        try {
+            PMD.doPMD(pmdConfig);
+        } finally {
+            pmd.end();
         }
+    }
 
-        @Override
-        public void end() throws IOException {
-            //do nothing
+    private PmdResult processViolations(FilteringRenderer renderer) {
+        final Instrumentation.Phase filter = Instrumentation.start(NAME, Instrumentation.FILTER);
+        final List<RuleViolation> violations = renderer.getViolations();
+        final UsageCounter counter = renderer.getCounter();
+        try {
+            Collections.sort(violations, VIOLATION_SORTER);
+        } finally {
+            filter.end();
         }
+        Instrumentation.countFindings(NAME, counter.getEvaluated(), violations.size(), counter.getUsedActions());
+        collector.printUnusedWarning(counter);
+        return new PmdResult(this, violations, collector.unusedActions(counter));
+    }
 
-        public Report getReport() {
-            return report;
-        }
+    private PooledRulesConfiguration createPmdConfig(FilteringRenderer renderer) {
+        final PooledRulesConfiguration pmdConfig = new PooledRulesConfiguration(rulesets.values(), renderer);
+        pmdConfig.setThreads(threads);
+        return pmdConfig;
     }
 }
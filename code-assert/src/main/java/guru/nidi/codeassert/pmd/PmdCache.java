@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.pmd;
+
+import net.sourceforge.pmd.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Remembers the violations of each source file, as long as neither the file nor the rules change.
+ * Files are identified by their absolute path and compared by a checksum of their content.
+ * PMD must therefore be given absolute paths of the files to analyze.
+ */
+final class PmdCache {
+    private static final Logger LOG = LoggerFactory.getLogger(PmdCache.class);
+
+    private final File file;
+    private final String key;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, String> checksums = new HashMap<>();
+
+    private PmdCache(File file, String key) {
+        this.file = file;
+        this.key = key;
+    }
+
+    static PmdCache load(File file, String key, RuleSets rules) {
+        final PmdCache cache = new PmdCache(file, key);
+        if (file.exists()) {
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if (key.equals(in.readUTF())) {
+                    cache.read(in, rules);
+                } else {
+                    LOG.info("Rules have changed, ignoring PMD cache {}", file);
+                }
+            } catch (IOException e) {
+                LOG.warn("Could not read PMD cache {}, ignoring it", file, e);
+                cache.entries.clear();
+            }
+        }
+        return cache;
+    }
+
+    private void read(DataInput in, RuleSets rules) throws IOException {
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            final String path = in.readUTF();
+            final String checksum = in.readUTF();
+            final int violationCount = in.readInt();
+            final List<RuleViolation> violations = new ArrayList<>();
+            boolean complete = true;
+            for (int j = 0; j < violationCount; j++) {
+                final Rule rule = rules.getRuleByName(in.readUTF());
+                final CachedViolation violation = new CachedViolation(rule, in);
+                complete &= rule != null;
+                violations.add(violation);
+            }
+            if (complete) {
+                entries.put(path, new Entry(checksum, violations));
+            }
+        }
+    }
+
+    /**
+     * Find the files that have changed since they were last analyzed.
+     *
+     * @param sources all files to be analyzed.
+     * @return the files whose violations are not known.
+     */
+    List<File> changed(List<File> sources) {
+        final List<File> changed = new ArrayList<>();
+        for (final File source : sources) {
+            final String path = source.getAbsolutePath();
+            final String checksum = checksum(source);
+            checksums.put(path, checksum);
+            final Entry entry = entries.get(path);
+            if (entry == null || !entry.checksum.equals(checksum)) {
+                changed.add(source);
+            }
+        }
+        return changed;
+    }
+
+    void update(List<File> analyzed, List<RuleViolation> found, Set<String> failedFiles) {
+        final Map<String, List<RuleViolation>> violations = new HashMap<>();
+        for (final File source : analyzed) {
+            violations.put(source.getAbsolutePath(), new ArrayList<RuleViolation>());
+        }
+        for (final RuleViolation violation : found) {
+            final List<RuleViolation> list = violations.get(violation.getFilename());
+            if (list != null) {
+                list.add(violation);
+            }
+        }
+        violations.keySet().removeAll(failedFiles);
+        for (final Map.Entry<String, List<RuleViolation>> entry : violations.entrySet()) {
+            entries.put(entry.getKey(), new Entry(checksums.get(entry.getKey()), entry.getValue()));
+        }
+    }
+
+    List<RuleViolation> violations(List<File> sources) {
+        final List<RuleViolation> violations = new ArrayList<>();
+        for (final File source : sources) {
+            final Entry entry = entries.get(source.getAbsolutePath());
+            if (entry != null) {
+                violations.addAll(entry.violations);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Write the entries of all files seen by {@link #changed(List)}, other entries are dropped.
+     * The file is replaced atomically, so concurrent analyzers using the same cache do not corrupt it.
+     */
+    void save() {
+        try {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Could not create directory " + parent);
+            }
+            final File temp = File.createTempFile(file.getName(), ".tmp", parent);
+            try (final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp)))) {
+                write(out);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("Could not write PMD cache {}", file, e);
+        }
+    }
+
+    private void write(DataOutput out) throws IOException {
+        final Map<String, Entry> existing = new TreeMap<>();
+        for (final String path : checksums.keySet()) {
+            final Entry entry = entries.get(path);
+            if (entry != null) {
+                existing.put(path, entry);
+            }
+        }
+        out.writeUTF(key);
+        out.writeInt(existing.size());
+        for (final Map.Entry<String, Entry> entry : existing.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue().checksum);
+            out.writeInt(entry.getValue().violations.size());
+            for (final RuleViolation violation : entry.getValue().violations) {
+                CachedViolation.write(violation, out);
+            }
+        }
+    }
+
+    static String checksum(File file) {
+        try (final InputStream in = Files.newInputStream(file.toPath())) {
+            return checksum(in);
+        } catch (IOException e) {
+            LOG.warn("Could not read {}", file, e);
+            return "";
+        }
+    }
+
+    static String checksum(InputStream in) throws IOException {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buf = new byte[8192];
+            for (int read = in.read(buf); read >= 0; read = in.read(buf)) {
+                digest.update(buf, 0, read);
+            }
+            return new BigInteger(1, digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is always supported", e);
+        }
+    }
+
+    private static class Entry {
+        final String checksum;
+        final List<RuleViolation> violations;
+
+        Entry(String checksum, List<RuleViolation> violations) {
+            this.checksum = checksum;
+            this.violations = violations;
+        }
+    }
+}
@@ -22,7 +22,8 @@ import net.sourceforge.pmd.RuleViolation;
 
 import java.util.List;
 
-public class PmdViolationCollector extends BaseCollector<RuleViolation, Ignore, PmdViolationCollector> {
+public class PmdViolationCollector extends BaseCollector<RuleViolation, Ignore, PmdViolationCollector>
+        implements IndexedCollector<RuleViolation> {
     private final RulePriority minPriority;
 
     public PmdViolationCollector() {
@@ -58,6 +59,11 @@ public class PmdViolationCollector extends BaseCollector<RuleViolation, Ignore,
         return new ActionResult(minPriority == null || issuePrio <= minPriority.getPriority(), null, 1);
     }
 
+    @Override
+    public String issueName(RuleViolation issue) {
+        return issue.getRule().getName();
+    }
+
     @Override
     protected ActionResult doAccept(RuleViolation issue, Ignore action) {
         return action.accept(new NamedLocation(
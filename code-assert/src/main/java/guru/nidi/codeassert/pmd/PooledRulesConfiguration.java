@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.pmd;
+
+import guru.nidi.codeassert.Instrumentation;
+import net.sourceforge.pmd.*;
+import net.sourceforge.pmd.renderers.Renderer;
+
+import java.io.Closeable;
+import java.util.*;
+
+/**
+ * PMD shares the rules of a configuration between all its threads, but rules are not thread safe.
+ * This configuration gives every thread its own rules, configured by the rulesets.
+ * When closed, the rules go into a process wide pool.
+ * Later analyses with the same rulesets, ruleset contents and properties reuse them.
+ * The pool keeps at most one set of rules per thread
+ * for the {@value #MAX_KEYS} most recently used keys.
+ */
+class PooledRulesConfiguration extends PMDConfiguration implements Closeable {
+    static final int MAX_KEYS = 16;
+    //in access order, so the least recently used key comes first
+    private static final Map<String, Deque<RuleSets>> POOL = new LinkedHashMap<>(MAX_KEYS, .75f, true);
+
+    private final Collection<Ruleset> rulesets;
+    private final Renderer renderer;
+    private final String key;
+    private final ThreadLocal<RuleSets> rules = new ThreadLocal<>();
+    private final List<RuleSets> used = new ArrayList<>();
+
+    PooledRulesConfiguration(Collection<Ruleset> rulesets, Renderer renderer) {
+        this.rulesets = rulesets;
+        this.renderer = renderer;
+        key = key(rulesets);
+        setRuleSets(names(rulesets));
+    }
+
+    /**
+     * Identify the rules of this configuration.
+     *
+     * @return the PMD version and the sorted keys of all rulesets, including their content checksums.
+     */
+    String getKey() {
+        return key;
+    }
+
+    private static String key(Collection<Ruleset> rulesets) {
+        final List<String> keys = new ArrayList<>();
+        for (final Ruleset ruleset : rulesets) {
+            keys.add(ruleset.key());
+        }
+        Collections.sort(keys);
+        return PMD.VERSION + keys;
+    }
+
+    private static String names(Collection<Ruleset> rulesets) {
+        final StringBuilder s = new StringBuilder();
+        for (final Ruleset ruleset : rulesets) {
+            s.append(',').append(ruleset.name);
+        }
+        return rulesets.isEmpty() ? "" : s.substring(1);
+    }
+
+    @Override
+    public Renderer createRenderer() {
+        return renderer;
+    }
+
+    @Override
+    public RuleSets getPmdRuleSets() {
+        if (rules.get() == null) {
+            RuleSets pooled;
+            synchronized (POOL) {
+                final Deque<RuleSets> free = POOL.get(key);
+                pooled = free == null ? null : free.poll();
+            }
+            if (pooled == null) {
+                pooled = load();
+            }
+            rules.set(pooled);
+            synchronized (used) {
+                used.add(pooled);
+            }
+        }
+        return rules.get();
+    }
+
+    private RuleSets load() {
+        final RuleSetFactory factory = RulesetsFactoryUtils.getRulesetFactory(this);
+        rules.set(RulesetsFactoryUtils.getRuleSets(getRuleSets(), factory));
+        for (final Ruleset ruleset : rulesets) {
+            ruleset.apply(this);
+        }
+        Instrumentation.count(PmdAnalyzer.NAME, Instrumentation.LOADED_RULE_SETS, 1);
+        return rules.get();
+    }
+
+    @Override
+    public void setPmdRuleSets(RuleSets pmdRuleSets) {
+        rules.set(pmdRuleSets);
+    }
+
+    /**
+     * Give the rules back to the pool. The rules must not be used by any thread anymore.
+     */
+    @Override
+    public void close() {
+        synchronized (used) {
+            synchronized (POOL) {
+                Deque<RuleSets> free = POOL.get(key);
+                if (free == null) {
+                    free = new ArrayDeque<>();
+                    POOL.put(key, free);
+                    if (POOL.size() > MAX_KEYS) {
+                        POOL.remove(POOL.keySet().iterator().next());
+                    }
+                }
+                for (final RuleSets ruleSets : used) {
+                    if (free.size() < Math.max(1, getThreads())) {
+                        free.add(ruleSets);
+                    }
+                }
+            }
+            used.clear();
+        }
+    }
+}
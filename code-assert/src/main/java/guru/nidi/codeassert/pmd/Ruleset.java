@@ -17,8 +17,12 @@ package guru.nidi.codeassert.pmd;
 
 import guru.nidi.codeassert.AnalyzerException;
 import net.sourceforge.pmd.*;
+import net.sourceforge.pmd.util.ResourceLoader;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.util.*;
 
 public class Ruleset {
     final String name;
@@ -28,21 +32,56 @@ public class Ruleset {
     }
 
     public void apply(PMDConfiguration config) {
+        for (final Map.Entry<PropertyField, Object> property : properties().entrySet()) {
+            if (property.getValue() != null) {
+                setProperty(config, property.getKey().rule(), property.getKey().property(), property.getValue());
+            }
+        }
+    }
+
+    /**
+     * Identify this ruleset together with its content and all its property values.
+     * The content is needed because a custom ruleset file can change between two analyses.
+     *
+     * @return the name, a checksum of the ruleset file and the property values in a stable order.
+     */
+    String key() {
+        final List<String> properties = new ArrayList<>();
+        for (final Map.Entry<PropertyField, Object> property : properties().entrySet()) {
+            properties.add(property.getKey().rule() + "." + property.getKey().property() + "=" + property.getValue());
+        }
+        Collections.sort(properties);
+        return name + "#" + checksum() + properties;
+    }
+
+    private String checksum() {
+        try (final InputStream in = ResourceLoader.loadResourceAsStream(name)) {
+            return PmdCache.checksum(in);
+        } catch (RuleSetNotFoundException | IOException e) {
+            //PMD reports the problem when loading the ruleset
+            return "";
+        }
+    }
+
+    private Map<PropertyField, Object> properties() {
+        final Map<PropertyField, Object> properties = new LinkedHashMap<>();
         for (final Field descField : getClass().getDeclaredFields()) {
             final PropertyField propertyField = descField.getAnnotation(PropertyField.class);
             if (propertyField != null) {
-                try {
-                    descField.setAccessible(true);
-                    final Object value = descField.get(this);
-                    if (value != null) {
-                        setProperty(config, propertyField.rule(), propertyField.property(), value);
-                    }
-                } catch (IllegalAccessException e) {
-                    throw new AnalyzerException("Could not read property " + descField.getName()
-                            + " from class " + getClass(), e);
-                }
+                properties.put(propertyField, value(descField));
             }
         }
+        return properties;
+    }
+
+    private Object value(Field descField) {
+        try {
+            descField.setAccessible(true);
+            return descField.get(this);
+        } catch (IllegalAccessException e) {
+            throw new AnalyzerException("Could not read property " + descField.getName()
+                    + " from class " + getClass(), e);
+        }
     }
 
     private void setProperty(PMDConfiguration config, String rule, String property, Object value) {
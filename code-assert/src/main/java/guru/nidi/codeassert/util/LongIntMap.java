@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from non negative long keys to int values using open addressing.
+ * Avoids boxing and entry objects for large maps.
+ */
+public class LongIntMap {
+    private static final long EMPTY = -1;
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntMap() {
+        keys = new long[16];
+        values = new int[16];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public static long key(int high, int low) {
+        return ((long) high << 32) | (low & 0xffffffffL);
+    }
+
+    public static int high(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int low(long key) {
+        return (int) key;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return keys[indexOf(key)] == key;
+    }
+
+    public int get(long key, int defaultValue) {
+        final int pos = indexOf(key);
+        return keys[pos] == key ? values[pos] : defaultValue;
+    }
+
+    public void put(long key, int value) {
+        doPut(key, value, true);
+    }
+
+    public void putIfAbsent(long key, int value) {
+        doPut(key, value, false);
+    }
+
+    /**
+     * @return all keys in this map, in no particular order.
+     */
+    public long[] keys() {
+        final long[] res = new long[size];
+        int i = 0;
+        for (final long key : keys) {
+            if (key != EMPTY) {
+                res[i++] = key;
+            }
+        }
+        return res;
+    }
+
+    private void doPut(long key, int value, boolean overwrite) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key must not be negative: " + key);
+        }
+        final int pos = indexOf(key);
+        if (keys[pos] == key) {
+            if (overwrite) {
+                values[pos] = value;
+            }
+        } else {
+            keys[pos] = key;
+            values[pos] = value;
+            size++;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        final int mask = keys.length - 1;
+        int pos = hash(key) & mask;
+        while (keys[pos] != EMPTY && keys[pos] != key) {
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private static int hash(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                final int pos = indexOf(oldKeys[i]);
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+}
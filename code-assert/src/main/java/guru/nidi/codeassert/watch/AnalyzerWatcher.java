@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.watch;
+
+import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.AnalyzerResult;
+import guru.nidi.codeassert.config.AnalyzerConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Runs analyzers again whenever files of the configuration change.
+ * Analyzers registered with {@link #onSourceChange(AnalyzerFactory)} run when a source file changes,
+ * those registered with {@link #onClassChange(AnalyzerFactory)} when a class file changes.
+ * <pre>
+ * new AnalyzerWatcher(AnalyzerConfig.maven().main())
+ *     .onSourceChange(new AnalyzerFactory() {
+ *         public Analyzer&lt;?&gt; create(AnalyzerConfig config) {
+ *             return new PmdAnalyzer(config, collector).withRulesets(rules);
+ *         }
+ *     })
+ *     .watch();
+ * </pre>
+ */
+public class AnalyzerWatcher {
+    private final AnalyzerConfig config;
+    private final List<AnalyzerFactory> sourceFactories;
+    private final List<AnalyzerFactory> classFactories;
+    private final WatchListener listener;
+    private final long debounceMillis;
+    private final Map<AnalyzerFactory, AnalyzerResult<?>> results = new HashMap<>();
+
+    public AnalyzerWatcher(AnalyzerConfig config) {
+        this(config, Collections.<AnalyzerFactory>emptyList(), Collections.<AnalyzerFactory>emptyList(),
+                new DeltaPrinter(), 300);
+    }
+
+    private AnalyzerWatcher(AnalyzerConfig config, List<AnalyzerFactory> sourceFactories,
+                            List<AnalyzerFactory> classFactories, WatchListener listener, long debounceMillis) {
+        this.config = config;
+        this.sourceFactories = sourceFactories;
+        this.classFactories = classFactories;
+        this.listener = listener;
+        this.debounceMillis = debounceMillis;
+    }
+
+    public AnalyzerWatcher onSourceChange(AnalyzerFactory factory) {
+        return new AnalyzerWatcher(config, plus(sourceFactories, factory), classFactories, listener, debounceMillis);
+    }
+
+    public AnalyzerWatcher onClassChange(AnalyzerFactory factory) {
+        return new AnalyzerWatcher(config, sourceFactories, plus(classFactories, factory), listener, debounceMillis);
+    }
+
+    public AnalyzerWatcher listener(WatchListener listener) {
+        return new AnalyzerWatcher(config, sourceFactories, classFactories, listener, debounceMillis);
+    }
+
+    /**
+     * Set the time without file events after which a batch of changes is analyzed.
+     *
+     * @param debounceMillis the quiet time in milliseconds.
+     * @return a new AnalyzerWatcher with the given debounce time.
+     */
+    public AnalyzerWatcher debounce(long debounceMillis) {
+        return new AnalyzerWatcher(config, sourceFactories, classFactories, listener, debounceMillis);
+    }
+
+    private static <T> List<T> plus(List<T> list, T elem) {
+        final List<T> res = new ArrayList<>(list);
+        res.add(elem);
+        return res;
+    }
+
+    /**
+     * Run all analyzers once, then wait for changes and run the affected analyzers again.
+     * An analyzer that throws an exception is reported to the listener and runs again on the next change.
+     * This only returns when the current thread is interrupted.
+     */
+    public void watch() {
+        try (ChangeWatcher watcher = new ChangeWatcher()) {
+            for (final Path root : roots(config.getSourcePaths(), config.getClassPaths())) {
+                watcher.register(root);
+            }
+            analyze(sourceFactories);
+            analyze(classFactories);
+            while (!Thread.currentThread().isInterrupted()) {
+                analyzeChanges(watcher.awaitChanges(debounceMillis));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new AnalyzerException("Could not watch files", e);
+        }
+    }
+
+    void analyzeChanges(Collection<Path> changes) {
+        if (affects(changes, config.getSourcePaths())) {
+            analyze(sourceFactories);
+        }
+        if (affects(changes, config.getClassPaths())) {
+            analyze(classFactories);
+        }
+    }
+
+    private void analyze(List<AnalyzerFactory> factories) {
+        for (final AnalyzerFactory factory : factories) {
+            final AnalyzerResult<?> result = tryAnalyze(factory);
+            if (result != null) {
+                listener.analyzed(results.put(factory, result), result);
+            }
+        }
+    }
+
+    private AnalyzerResult<?> tryAnalyze(AnalyzerFactory factory) {
+        try {
+            return factory.create(new AnalyzerConfig(config)).analyze();
+        } catch (RuntimeException e) {
+            listener.failed(factory, e);
+            return null;
+        }
+    }
+
+    private static boolean affects(Collection<Path> changes, List<AnalyzerConfig.Path> paths) {
+        for (final Path root : roots(paths)) {
+            for (final Path change : changes) {
+                if (change.startsWith(root) || root.startsWith(change)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @SafeVarargs
+    private static List<Path> roots(List<AnalyzerConfig.Path>... pathLists) {
+        final List<Path> roots = new ArrayList<>();
+        for (final List<AnalyzerConfig.Path> paths : pathLists) {
+            for (final AnalyzerConfig.Path path : paths) {
+                roots.add(Paths.get(path.getPath()).toAbsolutePath().normalize());
+            }
+        }
+        return roots;
+    }
+}
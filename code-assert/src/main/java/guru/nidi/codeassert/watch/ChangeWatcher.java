@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.watch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches directory trees and collects changed paths in batches.
+ * A batch ends when no event arrived during the debounce time,
+ * so a compilation touching many files results in only one batch.
+ */
+final class ChangeWatcher implements Closeable {
+    private final WatchService service;
+    private final Map<WatchKey, Path> dirs = new HashMap<>();
+    private final List<Path> roots = new ArrayList<>();
+
+    ChangeWatcher() throws IOException {
+        service = FileSystems.getDefault().newWatchService();
+    }
+
+    void register(Path root) throws IOException {
+        final Path normalized = root.toAbsolutePath().normalize();
+        if (Files.isDirectory(normalized)) {
+            roots.add(normalized);
+            registerTree(normalized);
+        }
+    }
+
+    private void registerTree(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dirs.put(dir.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Wait for changes and return them as soon as no more changes arrived during the debounce time.
+     * If events were lost, the watched roots are returned.
+     *
+     * @param debounceMillis the time without events that ends a batch.
+     * @return the changed paths.
+     * @throws IOException          if a new directory cannot be registered.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    Set<Path> awaitChanges(long debounceMillis) throws IOException, InterruptedException {
+        final Set<Path> changes = new TreeSet<>();
+        WatchKey key = service.take();
+        while (key != null) {
+            collect(key, changes);
+            key = service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return changes;
+    }
+
+    private void collect(WatchKey key, Set<Path> changes) throws IOException {
+        final Path dir = dirs.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                changes.addAll(roots);
+            } else {
+                final Path path = dir.resolve((Path) event.context());
+                changes.add(path);
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    registerTree(path);
+                    addTree(path, changes);
+                }
+            }
+        }
+        if (!key.reset()) {
+            dirs.remove(key);
+        }
+    }
+
+    private void addTree(Path dir, Set<Path> changes) throws IOException {
+        Files.walkFileTree(dir, new FileCollector(changes));
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+
+    private static class FileCollector extends SimpleFileVisitor<Path> {
+        private final Set<Path> files;
+
+        FileCollector(Set<Path> files) {
+            this.files = files;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            files.add(file);
+            return FileVisitResult.CONTINUE;
+        }
+    }
+}
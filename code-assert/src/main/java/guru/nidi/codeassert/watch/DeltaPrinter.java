@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.watch;
+
+import guru.nidi.codeassert.AnalyzerResult;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Prints which findings appeared and disappeared since the last run of an analyzer.
+ * Findings without a meaningful toString are only counted.
+ */
+public class DeltaPrinter implements WatchListener {
+    private final PrintStream out;
+
+    public DeltaPrinter() {
+        this(System.out);
+    }
+
+    public DeltaPrinter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void analyzed(AnalyzerResult<?> previous, AnalyzerResult<?> current) {
+        final String name = current.analyzer().getClass().getSimpleName();
+        final Object after = current.findings();
+        final Object before = previous == null ? null : previous.findings();
+        if (after instanceof Collection) {
+            printDelta(name, describe(before), describe(after));
+        } else {
+            final boolean same = previous != null && String.valueOf(before).equals(String.valueOf(after));
+            out.println(name + (same ? ": unchanged" : ": changed"));
+        }
+    }
+
+    @Override
+    public void failed(AnalyzerFactory factory, RuntimeException error) {
+        out.println("Analysis failed: " + error);
+    }
+
+    private void printDelta(String name, List<String> before, List<String> after) {
+        final List<String> added = minus(after, before);
+        final List<String> removed = minus(before, after);
+        out.println(name + ": " + after.size() + " findings (+" + added.size() + ", -" + removed.size() + ")");
+        printAll("  + ", added);
+        printAll("  - ", removed);
+    }
+
+    private void printAll(String prefix, List<String> findings) {
+        for (final String finding : findings) {
+            if (finding.length() > 0) {
+                out.println(prefix + finding);
+            }
+        }
+    }
+
+    static List<String> describe(Object findings) {
+        final List<String> res = new ArrayList<>();
+        if (findings instanceof Collection) {
+            for (final Object finding : (Collection<?>) findings) {
+                res.add(hasOwnToString(finding) ? finding.toString() : "");
+            }
+        }
+        return res;
+    }
+
+    static List<String> minus(List<String> as, List<String> bs) {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final String b : bs) {
+            final Integer count = counts.get(b);
+            counts.put(b, count == null ? 1 : count + 1);
+        }
+        final List<String> res = new ArrayList<>();
+        for (final String a : as) {
+            final Integer count = counts.get(a);
+            if (count == null || count == 0) {
+                res.add(a);
+            } else {
+                counts.put(a, count - 1);
+            }
+        }
+        return res;
+    }
+
+    private static boolean hasOwnToString(Object o) {
+        try {
+            return o != null && o.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
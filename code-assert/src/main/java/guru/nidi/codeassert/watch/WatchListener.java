@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.watch;
+
+import guru.nidi.codeassert.AnalyzerResult;
+
+public interface WatchListener {
+    /**
+     * Called after each run of an analyzer.
+     *
+     * @param previous the result of the last run of the same analyzer, null on the first run.
+     * @param current  the result of this run.
+     */
+    void analyzed(AnalyzerResult<?> previous, AnalyzerResult<?> current);
+
+    /**
+     * Called when an analyzer could not be created or run,
+     * e.g. because a class file was only half written.
+     * The watcher keeps the last result of the analyzer and continues watching.
+     *
+     * @param factory the factory of the failed analyzer.
+     * @param error   the error that occurred.
+     */
+    void failed(AnalyzerFactory factory, RuntimeException error);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalyzerRunnerTest {
+    @Test
+    void analyzer() {
+        final Future<AnalyzerResult<String>> result = new AnalyzerRunner(2).analyze(new Analyzer<String>() {
+            @Override
+            public AnalyzerResult<String> analyze() {
+                return new AnalyzerResult<>(this, "found", Collections.<String>emptyList());
+            }
+        });
+        assertEquals("found", AnalyzerRunner.await(result).findings());
+    }
+
+    @Test
+    void failingAnalysis() {
+        final Future<String> result = new AnalyzerRunner(2).submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThrows(IllegalStateException.class, () -> AnalyzerRunner.await(result));
+    }
+}
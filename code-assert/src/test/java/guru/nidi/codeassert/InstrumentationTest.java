@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert;
+
+import guru.nidi.codeassert.config.ActionResult;
+import guru.nidi.codeassert.config.AnalyzerConfig;
+import guru.nidi.codeassert.dependency.DependencyAnalyzer;
+import guru.nidi.codeassert.model.Model;
+import guru.nidi.codeassert.model.Scope;
+import guru.nidi.codeassert.pmd.CpdAnalyzer;
+import guru.nidi.codeassert.pmd.CpdMatchCollector;
+import net.sourceforge.pmd.cpd.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstrumentationTest {
+    @Test
+    void dependencyPhases() {
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        Instrumentation.addListener(metrics);
+        try {
+            new DependencyAnalyzer(AnalyzerConfig.maven().main("guru/nidi/codeassert/util")).analyze();
+        } finally {
+            Instrumentation.removeListener(metrics);
+        }
+        final Set<String> phases = new HashSet<>(metrics.millis("model").keySet());
+        phases.addAll(metrics.millis("dependency").keySet());
+        assertEquals(new HashSet<>(Arrays.asList("parse", "rules", "cycles", "filter", "analyze")), phases);
+    }
+
+    @Test
+    void packageAndClassScopeInOnePass() {
+        final Model model = Model.from(AnalyzerConfig.maven().test("guru/nidi/codeassert/dependency").getClasses());
+        final List<String> phases = new ArrayList<>();
+        final AnalyzerMetrics metrics = new AnalyzerMetrics() {
+            @Override
+            public void phaseStarted(String analyzer, String phase) {
+                if ("dependency".equals(analyzer)) {
+                    phases.add(phase);
+                }
+            }
+        };
+        Instrumentation.addListener(metrics);
+        try {
+            new DependencyAnalyzer(model).analyzeScopes(Scope.PACKAGES, Scope.CLASSES);
+        } finally {
+            Instrumentation.removeListener(metrics);
+        }
+        assertEquals(Arrays.asList("analyze", "rules", "cycles", "cycles", "filter", "filter"), phases);
+        final Map<String, Long> counters = metrics.counters("dependency");
+        assertEquals(model.getPackages().size() + model.getClasses().size(),
+                (long) counters.get(Instrumentation.MATCHED_ELEMENTS));
+        //the class cycles a.A1-b.B1-c.C1 and a.a.Aa1-b.a.Ba1 seed the package cycles
+        assertEquals(2, (long) counters.get(Instrumentation.CYCLE_SEEDS));
+    }
+
+    @Test
+    void phasesEndOnErrors() {
+        final OpenPhases open = new OpenPhases();
+        Instrumentation.addListener(open);
+        try {
+            assertThrows(IllegalStateException.class, () ->
+                    new CpdAnalyzer(AnalyzerConfig.maven().main(), 20, new FailingCollector()).analyze());
+        } finally {
+            Instrumentation.removeListener(open);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("analyze", "cpd", "filter")), open.started);
+        assertEquals(Collections.emptyList(), open.open);
+    }
+
+    @Test
+    void json() {
+        final JsonTimingReport report = new JsonTimingReport(null);
+        report.phaseEnded("pmd", "pmd", 2000000);
+        report.counted("pmd", "files", 3);
+        assertEquals("{\n  \"pmd\": {\n    \"millis\": {\"pmd\": 2},\n    \"counters\": {\"files\": 3}\n  }\n}\n",
+                report.toJson());
+    }
+
+    private static class FailingCollector extends CpdMatchCollector {
+        @Override
+        public ActionResult accept(Match issue) {
+            throw new IllegalStateException("collector failed");
+        }
+    }
+
+    private static class OpenPhases implements AnalyzerListener {
+        final Set<String> started = new HashSet<>();
+        final List<String> open = new ArrayList<>();
+
+        @Override
+        public void phaseStarted(String analyzer, String phase) {
+            started.add(phase);
+            open.add(phase);
+        }
+
+        @Override
+        public void phaseEnded(String analyzer, String phase, long nanos) {
+            open.remove(phase);
+        }
+
+        @Override
+        public void counted(String analyzer, String counter, long value) {
+        }
+    }
+}
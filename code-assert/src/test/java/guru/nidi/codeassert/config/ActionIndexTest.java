@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ActionIndexTest {
+    private final Ignore ignoreA = In.everywhere().ignore("A");
+    private final Ignore wildcard = In.everywhere().ignore("B*");
+    private final Ignore ignoreAb = In.loc("x").ignore("A", "B");
+    private final Ignore all = In.loc("y").ignoreAll();
+    private final ActionIndex<Ignore> index = new ActionIndex<>(
+            CollectorConfig.just(ignoreA, wildcard), CollectorConfig.because("reason", ignoreAb, all));
+
+    @Test
+    void candidatesInConfigOrder() {
+        assertEquals(asList(ignoreA, wildcard, ignoreAb, all), index.candidates("A"));
+    }
+
+    @Test
+    void unknownName() {
+        assertEquals(asList(wildcard, all), index.candidates("C"));
+    }
+
+    @Test
+    void allActions() {
+        assertEquals(asList(ignoreA, wildcard, ignoreAb, all), index.all());
+    }
+
+    @Test
+    void exactNames() {
+        assertEquals(singletonList("A"), ignoreA.exactNames());
+    }
+}
@@ -16,13 +16,16 @@
 package guru.nidi.codeassert.config;
 
 import guru.nidi.codeassert.config.AnalyzerConfig.Path;
+import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AnalyzerConfigTest {
     @Test
@@ -134,6 +137,46 @@ public class AnalyzerConfigTest {
         assertEquals("/a", path.getPath());
     }
 
+    @Test
+    void sources() {
+        final List<File> sources = AnalyzerConfig.maven().main("guru/nidi/codeassert/config").getSources();
+        assertTrue(sources.contains(new File("src/main/java/guru/nidi/codeassert/config/AnalyzerConfig.java")));
+    }
+
+    @Test
+    void memoizedSources() {
+        final AnalyzerConfig config = AnalyzerConfig.maven().main("guru/nidi/codeassert/config");
+        assertSame(config.getSources(), config.getSources());
+    }
+
+    @Test
+    void includingExcluding() {
+        final List<File> classes = AnalyzerConfig.maven().main("guru/nidi/codeassert")
+                .including("**/Location*")
+                .excluding("**/config/*NameMatcher.class", "guru/nidi/codeassert/dependency")
+                .getClasses();
+        assertEquals(Arrays.asList(new File("target/classes/guru/nidi/codeassert/config/LocationMatcher.class")), classes);
+    }
+
+    @Test
+    void followsLinkedDirectories() throws IOException {
+        final java.nio.file.Path root = Files.createTempDirectory("crawl").toRealPath();
+        try {
+            final java.nio.file.Path b = Files.createDirectories(root.resolve("src/a/b"));
+            final java.nio.file.Path linked = Files.createDirectories(root.resolve("linked"));
+            Files.write(b.resolve("Plain.java"), new byte[0]);
+            Files.write(linked.resolve("Linked.java"), new byte[0]);
+            Files.createSymbolicLink(b.resolve("link"), linked);
+            Files.createSymbolicLink(b.resolve("loop"), b.getParent());
+
+            final File src = root.resolve("src").toFile();
+            assertEquals(Arrays.asList(new File(src, "a/b/Plain.java"), new File(src, "a/b/link/Linked.java")),
+                    new AnalyzerConfig().withSources(src).getSources());
+        } finally {
+            FileUtils.deleteDirectory(root.toFile());
+        }
+    }
+
     private Path path(String base, String pack) {
         return new Path(base, pack);
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaselineTest {
+    private static final File FILE = new File("target/baseline/baseline.txt");
+
+    @Test
+    void recordAndLoad() {
+        final Baseline record = Baseline.record(FILE);
+        final Ignore ignore = record.ignore();
+        assertFalse(ignore.accept(new NamedLocation("rule", "a.B", "m", true)).isUndecided());
+        ignore.accept(new NamedLocation("dup\ncode|x", "a.C", "", false));
+        ignore.accept(new NamedLocation("DENIED", "a.B", "", "a.C", true));
+        record.save();
+
+        final Baseline baseline = Baseline.load(FILE);
+        assertEquals(3, baseline.size());
+        assertTrue(baseline.contains(new NamedLocation("rule", "a.B", "m", true)));
+        assertTrue(baseline.contains(new NamedLocation("dup\ncode|x", "a.C", "", false)));
+        assertFalse(baseline.contains(new NamedLocation("rule", "a.B", "n", true)));
+        assertTrue(baseline.contains(new NamedLocation("DENIED", "a.B", "", "a.C", true)));
+        assertFalse(baseline.contains(new NamedLocation("DENIED", "a.B", "", "a.D", true)));
+    }
+
+    @Test
+    void ignore() {
+        final Baseline baseline = Baseline.record(FILE);
+        baseline.ignore().accept(new NamedLocation("rule", "a.B", null, true));
+        final Ignore ignore = Baseline.load(new File("target/baseline/notExisting.txt")).ignore();
+        assertTrue(ignore.accept(new NamedLocation("rule", "a.B", null, true)).isUndecided());
+
+        final UsageCounter counter = new UsageCounter();
+        assertFalse(counter.accept(baseline.ignore().accept(new NamedLocation("rule", "a.B", null, true))));
+    }
+
+    @Test
+    void concurrentRecording() {
+        final Baseline baseline = Baseline.record(FILE);
+        final Ignore ignore = baseline.ignore();
+        final UsageCounter counter = new UsageCounter();
+        IntStream.range(0, 100000).parallel().forEach(i ->
+                counter.accept(ignore.accept(new NamedLocation("rule", "a.B" + i % 1000, "", true))));
+        assertEquals(1000, baseline.size());
+        assertEquals(100000, counter.getCount(ignore));
+    }
+}
@@ -190,4 +190,18 @@ public class LocationMatcherTest {
         assertFalse(m.matchesPackageClass("a", "C"));
     }
 
+
+    @Test
+    void overlaps() {
+        assertTrue(new LocationMatcher("a.b").overlaps(new LocationMatcher("a.*")));
+        assertTrue(new LocationMatcher("a.b*").overlaps(new LocationMatcher("a.*")));
+        assertTrue(new LocationMatcher("*.b").overlaps(new LocationMatcher("a.*")));
+        assertTrue(new LocationMatcher("a.B").overlaps(new LocationMatcher("a")));
+        assertTrue(new LocationMatcher("*").overlaps(new LocationMatcher("x.Y#z")));
+        assertFalse(new LocationMatcher("a.b").overlaps(new LocationMatcher("a.c")));
+        assertFalse(new LocationMatcher("a.b*").overlaps(new LocationMatcher("a.c*")));
+        assertFalse(new LocationMatcher("*.b").overlaps(new LocationMatcher("*.c")));
+        assertFalse(new LocationMatcher("a.B").overlaps(new LocationMatcher("a.C")));
+        assertFalse(new LocationMatcher("a.B#x").overlaps(new LocationMatcher("a.B#y")));
+    }
 }
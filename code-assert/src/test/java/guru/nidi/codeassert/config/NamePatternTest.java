@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NamePatternTest {
+    @Test
+    void any() {
+        assertTrue(NamePattern.of("*").matches("a.b.C", 2, 2));
+        assertTrue(NamePattern.of("").matches("abc"));
+    }
+
+    @Test
+    void exact() {
+        final NamePattern p = NamePattern.of("b");
+        assertTrue(p.matches("a.b.C", 2, 3));
+        assertFalse(p.matches("a.b.C", 2, 5));
+    }
+
+    @Test
+    void prefix() {
+        final NamePattern p = NamePattern.of("b*");
+        assertTrue(p.matches("a.bx.C", 2, 4));
+        assertFalse(p.matches("a.bx.C", 0, 4));
+    }
+
+    @Test
+    void suffix() {
+        final NamePattern p = NamePattern.of("*x");
+        assertTrue(p.matches("a.bx.C", 0, 4));
+        assertFalse(p.matches("a.bx.C", 0, 5));
+    }
+
+    @Test
+    void contains() {
+        final NamePattern p = NamePattern.of("*b*");
+        assertTrue(p.matches("a.bx.C", 1, 4));
+        assertFalse(p.matches("a.bx.C", 3, 6));
+        assertFalse(p.matches("a.bx.C", 0, 2));
+    }
+}
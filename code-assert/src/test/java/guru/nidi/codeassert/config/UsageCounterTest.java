@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UsageCounterTest {
+    private static final int ISSUES = 100000;
+
+    @Test
+    void nullAction() {
+        final UsageCounter counter = new UsageCounter();
+        counter.accept(ActionResult.undecided(null));
+        assertEquals(1, counter.getCount(null));
+    }
+
+    @Test
+    void concurrentAccept() {
+        final Ignore ignore = In.loc("a.*").ignore("X");
+        final UsageCounter counter = new UsageCounter();
+        IntStream.range(0, ISSUES).parallel().forEach(i ->
+                counter.accept(ignore.accept(new NamedLocation("X", "a.B" + i, "", true))));
+        assertEquals(ISSUES, counter.getCount(ignore));
+    }
+}
@@ -22,10 +22,19 @@ import org.hamcrest.Matcher;
 import org.hamcrest.StringDescription;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Map;
+
 import static guru.nidi.codeassert.dependency.DependencyCollector.CYCLE;
 import static guru.nidi.codeassert.junit.CodeAssertMatchers.hasNoCycles;
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CycleTest {
     private static final String BASE = "guru.nidi.codeassert.dependency.";
@@ -112,6 +121,46 @@ public class CycleTest {
                 analyze(Scope.CLASSES, collector), hasNoCycles());
     }
 
+    @Test
+    void packageCyclesLimited() throws IOException {
+        final File report = new File("target/cycles/report.txt");
+        final DependencyResult result = analyze(Scope.PACKAGES, new DependencyCollector());
+        assertMatcher("\n"
+                        + "CYCLE        This group of elements has mutual dependencies:\n"
+                        + "  guru.nidi.codeassert.dependency.a ->\n"
+                        + "    guru.nidi.codeassert.dependency.c (by guru.nidi.codeassert.dependency.a.A1)\n"
+                        + "  guru.nidi.codeassert.dependency.b ->\n"
+                        + "    guru.nidi.codeassert.dependency.a (by guru.nidi.codeassert.dependency.b.B1)\n"
+                        + "    guru.nidi.codeassert.dependency.c (by guru.nidi.codeassert.dependency.b.B1)\n"
+                        + "  guru.nidi.codeassert.dependency.c ->\n"
+                        + "    guru.nidi.codeassert.dependency.a (by guru.nidi.codeassert.dependency.c.C1)\n"
+                        + "    guru.nidi.codeassert.dependency.b (by guru.nidi.codeassert.dependency.c.C1, guru.nidi.codeassert.dependency.c.C2)\n"
+                        + "CYCLE        ... 1 more of 2 in total\n"
+                        + "Full report written to " + report + "\n",
+                result, hasNoCycles().limitedTo(1).reportingTo(report));
+
+        final StringDescription full = new StringDescription();
+        hasNoCycles().describeMismatch(result, full);
+        assertEquals(full.toString().substring(1), new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void packageAndClassCyclesAtOnce() {
+        final Map<Scope<?>, DependencyResult> results = new DependencyAnalyzer(AnalyzerConfig.maven().test("guru/nidi/codeassert/dependency"))
+                .analyzeScopes(Scope.PACKAGES, Scope.CLASSES);
+        assertEquals(asList(Scope.PACKAGES, Scope.CLASSES), new ArrayList<>(results.keySet()));
+        assertEquals(analyze(Scope.PACKAGES, new DependencyCollector()).findings().cycles, results.get(Scope.PACKAGES).findings().cycles);
+        assertEquals(analyze(Scope.CLASSES, new DependencyCollector()).findings().cycles, results.get(Scope.CLASSES).findings().cycles);
+        assertEquals(analyze(Scope.PACKAGES, new DependencyCollector()).findings(), results.get(Scope.PACKAGES).findings());
+        assertEquals(analyze(Scope.CLASSES, new DependencyCollector()).findings(), results.get(Scope.CLASSES).findings());
+    }
+
+    @Test
+    void duplicateScopes() {
+        final DependencyAnalyzer analyzer = new DependencyAnalyzer(AnalyzerConfig.maven().test("guru/nidi/codeassert/dependency"));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyzeScopes(Scope.PACKAGES, Scope.CLASSES, Scope.PACKAGES));
+    }
+
     private void assertMatcher(String message, DependencyResult result, Matcher<DependencyResult> matcher) {
         assertFalse(matcher.matches(result), "Should not match");
         final StringDescription sd = new StringDescription();
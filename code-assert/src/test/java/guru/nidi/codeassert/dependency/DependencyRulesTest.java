@@ -23,6 +23,7 @@ import org.hamcrest.StringDescription;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.util.*;
 
 import static guru.nidi.codeassert.junit.CodeAssertMatchers.*;
@@ -335,6 +336,156 @@ public class DependencyRulesTest {
                 new DependencyAnalyzer(model).rules(rules).analyze(), matchesRules());
     }
 
+    @Test
+    void transitive() {
+        final DependencyRules rules = DependencyRules.allowAll().withExternals("java*", "org*");
+        final DependencyRule aa = rules.addRule(dep("a.a"));
+        final DependencyRule ab = rules.addRule(dep("a.b"));
+        final DependencyRule bb = rules.addRule(dep("b.b"));
+        final DependencyRule cb = rules.addRule(dep("c.b"));
+
+        aa.mustUseTransitively(cb);
+        ab.mustUseTransitively(cb);
+        bb.mustNotUseTransitively(aa, ab);
+
+        final Dependencies result = rules.analyzeRules(Scope.packages(model));
+        assertEquals(new DependencyMap().with(0, dep("a.b"), set(), dep("c.b")), result.missing);
+        assertEquals(new DependencyMap()
+                        .with(0, dep("b.b"), set(dep("b.b.Bb1")), dep("a.a"))
+                        .with(0, dep("b.b"), set(dep("b.b.Bb1")), dep("a.b")),
+                result.denied);
+        assertMatcher("\n"
+                        + miss("guru.nidi.codeassert.dependency.a.b")
+                        + "  guru.nidi.codeassert.dependency.c.b\n"
+                        + deny("guru.nidi.codeassert.dependency.b.b")
+                        + "  guru.nidi.codeassert.dependency.a.a (by guru.nidi.codeassert.dependency.b.b.Bb1)\n"
+                        + "  guru.nidi.codeassert.dependency.a.b (by guru.nidi.codeassert.dependency.b.b.Bb1)\n",
+                new DependencyAnalyzer(model).rules(rules).analyze(), matchesRulesIgnoringUndefined());
+    }
+
+    @Test
+    void transitiveClassLevel() {
+        final DependencyRules rules = DependencyRules.allowAll().withExternals("java*", "org*");
+        final DependencyRule cb1 = rules.addRule(dep("c.b.Cb1"));
+        final DependencyRule ab1 = rules.addRule(dep("a.b.Ab1"));
+        rules.addRule(dep("c.a.Ca1")).mustNotUseTransitively(ab1).mustUseTransitively(cb1);
+
+        final Dependencies result = rules.analyzeRules(Scope.classes(model));
+        assertEquals(new DependencyMap().with(0, dep("c.a.Ca1"), set(), dep("a.b.Ab1")), result.denied);
+        assertEquals(new DependencyMap().with(0, dep("c.a.Ca1"), set(), dep("c.b.Cb1")), result.missing);
+    }
+
+    @Test
+    void relaxedLayers() {
+        final DependencyRules rules = DependencyRules.allowAll().withExternals("java*", "org*");
+        rules.withLayers(Layers.relaxed(rules.rule(dep("c")), rules.rule(dep("b")), rules.rule(dep("a"))));
+
+        final Dependencies result = rules.analyzeRules(Scope.packages(model));
+        assertEquals(new DependencyMap()
+                        .with(0, dep("a"), set(dep("a.A1")), dep("c"))
+                        .with(0, dep("b"), set(dep("b.B1")), dep("c")),
+                result.denied);
+        assertFalse(result.undefined.contains(dep("a")));
+        assertTrue(result.undefined.contains(dep("a.a")));
+        assertMatcher("\n"
+                        + deny("guru.nidi.codeassert.dependency.a")
+                        + "  guru.nidi.codeassert.dependency.c (by guru.nidi.codeassert.dependency.a.A1)\n"
+                        + deny("guru.nidi.codeassert.dependency.b")
+                        + "  guru.nidi.codeassert.dependency.c (by guru.nidi.codeassert.dependency.b.B1)\n",
+                new DependencyAnalyzer(model).rules(rules).analyze(), matchesRulesIgnoringUndefined());
+    }
+
+    @Test
+    void strictLayers() {
+        final DependencyRules rules = DependencyRules.allowAll().withExternals("java*", "org*");
+        rules.withLayers(Layers.strict(rules.rule(dep("c")), rules.rule(dep("b")), rules.rule(dep("a"))));
+
+        final Dependencies result = rules.analyzeRules(Scope.packages(model));
+        assertEquals(new DependencyMap()
+                        .with(0, dep("a"), set(dep("a.A1")), dep("c"))
+                        .with(0, dep("b"), set(dep("b.B1")), dep("c"))
+                        .with(0, dep("c"), set(dep("c.C1")), dep("a")),
+                result.denied);
+    }
+
+    @Test
+    void failFast() {
+        final DependencyRules rules = DependencyRules.denyAll().withExternals("java*", "org*");
+        final DependencyRule a = rules.addRule(dep("a"));
+        final DependencyRule b = rules.addRule(dep("b"));
+        final DependencyRule c = rules.addRule(dep("c"));
+        a.mustUse(b);
+        b.mayUse(c);
+        rules.addRule(dep("d"));
+        rules.addRule(dep("e"));
+
+        final Dependencies result = new DependencyAnalyzer(model).rules(rules).failFast().analyze().findings();
+        assertEquals(1, result.missing.getElements().size());
+        assertEquals(1, result.denied.getElements().size());
+        assertEquals(1, result.notExisting.size());
+        assertEquals(1, result.undefined.size());
+        assertEquals(1, result.cycles.size());
+
+        final Dependencies full = new DependencyAnalyzer(model).rules(rules).failFast().fullAnalysis().analyze().findings();
+        assertEquals(3, full.denied.getElements().size());
+        assertEquals(2, full.notExisting.size());
+        assertEquals(2, full.cycles.size());
+    }
+
+    @Test
+    void maxViolationsIgnoresCollected() {
+        final DependencyRules rules = DependencyRules.denyAll().withExternals("java*", "org*");
+        rules.addRule(dep("a"));
+        rules.addRule(dep("b"));
+        rules.addRule(dep("c"));
+        final DependencyCollector collector = new DependencyCollector()
+                .just(In.locs(dep("a"), dep("b")).ignore(DependencyCollector.DENIED));
+
+        final Dependencies result = new DependencyAnalyzer(model).rules(rules).collector(collector)
+                .maxViolations(2).analyze().findings();
+        assertEquals(new DependencyMap()
+                        .with(0, dep("c"), set(dep("c.C1")), dep("a"))
+                        .with(0, dep("c"), set(dep("c.C1"), dep("c.C2")), dep("b")),
+                result.denied);
+    }
+
+    @Test
+    void baseline() {
+        final File file = new File("target/baseline/dependencies.txt");
+        final DependencyRules rules = DependencyRules.denyAll().withExternals("java*", "org*");
+        rules.addRule(dep("a")).mustUse(rules.addRule(dep("b")));
+        rules.addRule(dep("c"));
+
+        final Baseline record = Baseline.record(file);
+        assertThat(new DependencyAnalyzer(model).rules(rules)
+                .collector(new DependencyCollector().apply(record.template())).analyze(), matchesRulesExactly());
+        record.save();
+
+        rules.addRule(dep("d"));
+        assertMatcher("\n" + unexist("guru.nidi.codeassert.dependency.d"),
+                new DependencyAnalyzer(model).rules(rules)
+                        .collector(new DependencyCollector().just(Baseline.load(file).ignore())).analyze(),
+                matchesRulesExactly());
+    }
+
+    @Test
+    void baselineDoesNotIgnoreNewDependencies() {
+        final File file = new File("target/baseline/newDependencies.txt");
+        final DependencyRules rules = DependencyRules.allowAll().withExternals("java*", "org*");
+        rules.addRule(dep("b")).mustNotUse(rules.addRule(dep("c")));
+
+        final Baseline record = Baseline.record(file);
+        new DependencyAnalyzer(model).rules(rules).collector(new DependencyCollector().apply(record.template())).analyze();
+        record.save();
+
+        final DependencyRules rules2 = DependencyRules.allowAll().withExternals("java*", "org*");
+        rules2.addRule(dep("b")).mustNotUse(rules2.addRule(dep("a")), rules2.addRule(dep("c")));
+        final DependencyResult result = new DependencyAnalyzer(model).rules(rules2)
+                .collector(new DependencyCollector().just(Baseline.load(file).ignore())).analyze();
+        assertEquals(new DependencyMap().with(0, dep("b"), set(dep("b.B1")), dep("a")), result.findings().denied);
+        assertTrue(result.findings().cycles.isEmpty());
+    }
+
     @Test
     void externalsAreOptional() {
         final DependencyRules rules = DependencyRules.denyAll().withExternals("java*", "org.*", "blablu");
@@ -404,12 +555,14 @@ public class DependencyRulesTest {
                         .with(0, dep("CycleTest"), set(), dep("DependencyAnalyzer"))
                         .with(0, dep("CycleTest"), set(), dep("DependencyResult"))
                         .with(0, dep("CycleTest"), set(), dep("DependencyCollector"))
+                        .with(0, dep("CycleTest"), set(), dep("DependencyCycleMatcher"))
+                        .with(0, dep("CycleTest"), set(), dep("Dependencies"))
                         .with(0, dep("CycleTest"), set(), ca("junit.CodeAssertMatchers")),
                 result.denied);
         assertEquals(new DependencyMap()
                         .with(0, dep("CycleTest"), set(), ca("junit.CodeAssertMatchers")),
                 result3.denied);
-        assertEquals(67, result.undefined.size());
+        assertEquals(91, result.undefined.size());
     }
 
     private static String ca(String s) {
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleValidatorTest {
+    @Test
+    void ambiguousUsage() {
+        final DependencyRules rules = DependencyRules.denyAll();
+        final DependencyRule b = rules.rule("b.*");
+        rules.addRule("a").mayUse(b).mustNotUse(rules.rule("b.*"));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, rules::validate);
+        assertEquals("Invalid rules:\n  a uses b.* and b.* ambiguously.", e.getMessage());
+    }
+
+    @Test
+    void ambiguousBetweenRules() {
+        final DependencyRules rules = DependencyRules.denyAll();
+        final DependencyRule a = rules.addRule("a");
+        final DependencyRule b = rules.addRule("b");
+        a.mayUse(b);
+        b.mustNotBeUsedBy(a);
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, rules::validate);
+        assertEquals("Invalid rules:\n  Dependency a -> b is ambiguous: a uses b, b is used by a.", e.getMessage());
+    }
+
+    @Test
+    void dead() {
+        final DependencyRules rules = DependencyRules.denyAll();
+        rules.addRule("a#m").mayUse(rules.rule("b#n"));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, rules::validate);
+        assertEquals("Invalid rules:\n  a#m can never match a package or class.\n"
+                + "  a#m refers to b#n which can never match a package or class.", e.getMessage());
+    }
+
+    @Test
+    void ok() {
+        final DependencyRules rules = DependencyRules.denyAll();
+        final DependencyRule a = rules.addRule("a");
+        final DependencyRule b = rules.addRule("b");
+        a.mayUse(b).mustNotUse(rules.rule("b.c"));
+        b.mustNotBeUsedBy(rules.rule("c"));
+        assertSame(rules, rules.validate());
+    }
+}
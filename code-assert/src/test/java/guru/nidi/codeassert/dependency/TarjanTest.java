@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.dependency;
+
+import guru.nidi.codeassert.config.LocationMatcher;
+import guru.nidi.codeassert.model.UsingElement;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TarjanTest {
+    private static final int SIZE = 100000;
+
+    @Test
+    void longCycleDoesNotOverflowStack() {
+        final List<Element> elems = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            elems.add(new Element(i));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            elems.get(i).uses.add(elems.get((i + 1) % SIZE));
+        }
+        final Set<DependencyMap> cycles = new Tarjan<Element>(ViolationBudget.unlimited()).analyzeCycles(elems, false);
+        assertEquals(SIZE, cycles.iterator().next().getElements().size());
+    }
+
+    @Test
+    void seedsGiveSameCycles() {
+        final List<Element> elems = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            elems.add(new Element(i));
+        }
+        use(elems, 0, 1, 2, 0);
+        use(elems, 2, 3, 4, 3);
+        use(elems, 4, 5);
+        final Tarjan<Element> seeded = new Tarjan<>(ViolationBudget.unlimited());
+        seeded.seed(Arrays.asList(group(elems, 0, 1), group(elems, 1, 2), group(elems, 3, 4)));
+        final Set<DependencyMap> cycles = seeded.analyzeCycles(elems, false);
+        assertEquals(new Tarjan<Element>(ViolationBudget.unlimited()).analyzeCycles(elems, false), cycles);
+        assertEquals(new HashSet<>(Arrays.asList(group(elems, 0, 1, 2), group(elems, 3, 4))),
+                new HashSet<>(seeded.getComponents()));
+    }
+
+    private static void use(List<Element> elems, int... path) {
+        for (int i = 1; i < path.length; i++) {
+            elems.get(path[i - 1]).uses.add(elems.get(path[i]));
+        }
+    }
+
+    private static Set<Element> group(List<Element> elems, int... ids) {
+        final Set<Element> group = new HashSet<>();
+        for (final int id : ids) {
+            group.add(elems.get(id));
+        }
+        return group;
+    }
+
+    private static class Element extends UsingElement<Element> {
+        final int id;
+        final List<Element> uses = new ArrayList<>();
+
+        Element(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public Element self() {
+            return this;
+        }
+
+        @Override
+        public String getName() {
+            return "e" + id;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String getPackageName() {
+            return getName();
+        }
+
+        @Override
+        public Collection<String> usedVia(UsingElement<Element> other) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isMatchedBy(LocationMatcher matcher) {
+            return false;
+        }
+
+        @Override
+        public Collection<Element> uses() {
+            return uses;
+        }
+    }
+}
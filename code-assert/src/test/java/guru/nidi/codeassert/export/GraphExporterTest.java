@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.export;
+
+import guru.nidi.codeassert.config.AnalyzerConfig;
+import guru.nidi.codeassert.dependency.*;
+import guru.nidi.codeassert.model.Model;
+import guru.nidi.codeassert.model.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GraphExporterTest {
+    private static final String PATH = "guru/nidi/codeassert/dependency/";
+    private static final String DEP = "guru.nidi.codeassert.dependency";
+
+    private AnalyzerConfig config;
+    private Model model;
+
+    @BeforeEach
+    void init() {
+        config = AnalyzerConfig.maven().test(PATH + "a", PATH + "b", PATH + "c");
+        model = Model.from(config.getClasses());
+    }
+
+    @Test
+    void dotWithCycles() {
+        final Dependencies deps = new DependencyAnalyzer(config).scope(Scope.PACKAGES).analyze().findings();
+        final String dot = export(GraphExporter.packages(model).withViolations(deps), GraphFormat.DOT);
+        assertTrue(dot.startsWith("digraph dependencies {\n"));
+        assertTrue(dot.endsWith("}\n"));
+        assertTrue(dot.contains("  \"" + DEP + ".b.b\";\n"));
+        assertTrue(dot.contains("  \"" + DEP + ".c\" -> \"" + DEP + ".b\" [label=\"2\", style=dashed];\n"));
+        assertTrue(dot.contains("  \"" + DEP + ".b.b\" -> \"" + DEP + ".c.b\" [label=\"1\"];\n"));
+    }
+
+    @Test
+    void jsonLinesWithDenied() {
+        final DependencyRules rules = DependencyRules.allowAll();
+        rules.addRule(DEP + ".a").mustNotUse(rules.rule(DEP + ".c"));
+        final Dependencies deps = new DependencyAnalyzer(config).rules(rules).analyze().findings();
+        final String json = export(GraphExporter.packages(model).withViolations(deps), GraphFormat.JSON_LINES);
+        assertEquals(10 + 23, json.split("\n").length);
+        assertTrue(json.contains("{\"type\":\"node\",\"name\":\"java.lang\"}\n"));
+        assertTrue(json.contains("{\"type\":\"edge\",\"from\":\"" + DEP + ".a\",\"to\":\"" + DEP + ".c\","
+                + "\"count\":1,\"denied\":true,"));
+        assertTrue(json.contains("{\"type\":\"edge\",\"from\":\"" + DEP + ".c\",\"to\":\"" + DEP + ".a\","
+                + "\"count\":1,\"denied\":false,"));
+    }
+
+    @Test
+    void graphMlAggregated() {
+        final String xml = export(GraphExporter.packages(model).aggregatedByDepth(4), GraphFormat.GRAPHML);
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+                + "  <key id=\"count\" for=\"edge\" attr.name=\"count\" attr.type=\"int\"/>\n"
+                + "  <key id=\"denied\" for=\"edge\" attr.name=\"denied\" attr.type=\"boolean\"/>\n"
+                + "  <key id=\"cycle\" for=\"edge\" attr.name=\"cycle\" attr.type=\"boolean\"/>\n"
+                + "  <graph id=\"dependencies\" edgedefault=\"directed\">\n"
+                + "    <node id=\"" + DEP + "\"/>\n"
+                + "    <node id=\"java.lang\"/>\n"
+                + "    <edge source=\"" + DEP + "\" target=\"java.lang\"><data key=\"count\">26</data>"
+                + "<data key=\"denied\">false</data><data key=\"cycle\">false</data></edge>\n"
+                + "  </graph>\n"
+                + "</graphml>\n", xml);
+    }
+
+    @Test
+    void classesAggregated() {
+        final String dot = export(GraphExporter.classes(model).aggregatedByDepth(5), GraphFormat.DOT);
+        assertTrue(dot.contains("  \"" + DEP + ".a\" -> \"java.lang\""));
+        assertTrue(dot.contains("  \"" + DEP + ".b\" -> \"" + DEP + ".c\""));
+        assertTrue(!dot.contains("  \"" + DEP + ".a\" -> \"" + DEP + ".a\""));
+    }
+
+    private String export(GraphExporter exporter, GraphFormat format) {
+        final StringWriter out = new StringWriter();
+        exporter.export(out, format);
+        return out.toString();
+    }
+}
@@ -66,6 +66,16 @@ public class FindBugsTest {
         assertThat(new FindBugsAnalyzer(config, new BugCollector().maxRank(17).minPriority(Priorities.NORMAL_PRIORITY)).analyze(), hasNoUnusedActions());
     }
 
+    @Test
+    void excluding() {
+        System.gc();
+        final FindBugsAnalyzer analyzer = new FindBugsAnalyzer(
+                AnalyzerConfig.maven().test().excluding("guru/nidi/codeassert/Bugs*"), bugCollector);
+        assertEquals(0, analyzer.analyze().findings().stream()
+                .filter(bug -> bug.getPrimaryClass().getClassName().startsWith("guru.nidi.codeassert.Bugs"))
+                .count());
+    }
+
     @Test
     void globalIgnore() {
         System.gc();
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.junit;
+
+import guru.nidi.codeassert.findbugs.FindBugsResult;
+import guru.nidi.codeassert.pmd.PmdResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static guru.nidi.codeassert.junit.CodeAssertTestType.PMD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CodeAssertTestBaseTest {
+    private static final Set<String> STARTED = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void onlyStartDefaultTests() {
+        new OnlyPmd().pmdResult();
+        assertEquals(Collections.singleton("pmd"), STARTED);
+    }
+
+    private static class OnlyPmd extends CodeAssertTestBase {
+        @Override
+        protected EnumSet<CodeAssertTestType> defaultTests() {
+            return EnumSet.of(PMD);
+        }
+
+        @Override
+        protected FindBugsResult analyzeFindBugs() {
+            STARTED.add("findBugs");
+            return null;
+        }
+
+        @Override
+        protected PmdResult analyzePmd() {
+            STARTED.add("pmd");
+            return null;
+        }
+    }
+}
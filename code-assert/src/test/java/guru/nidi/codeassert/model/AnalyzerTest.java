@@ -19,6 +19,7 @@ import guru.nidi.codeassert.config.AnalyzerConfig;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -32,6 +33,34 @@ class AnalyzerTest {
 
     @Test
     void classes() throws IOException {
-        assertEquals(114, model.getClasses().size());
+        assertEquals(119, model.getClasses().size());
+    }
+
+    @Test
+    void packageUses() {
+        for (final JavaPackage pack : model.getPackages()) {
+            final Set<JavaPackage> used = new HashSet<>();
+            for (final JavaClass clazz : pack.getClasses()) {
+                used.addAll(clazz.usedForeignPackages());
+            }
+            assertEquals(used, new HashSet<>(pack.uses()));
+        }
+    }
+
+    @Test
+    void packageUsageCounts() {
+        for (final JavaPackage pack : model.getPackages()) {
+            int refs = 0;
+            for (final JavaClass clazz : pack.getClasses()) {
+                for (final Map.Entry<JavaPackage, Integer> use : clazz.usedPackageCounts().entrySet()) {
+                    refs += use.getKey().equals(pack) ? 0 : use.getValue();
+                }
+            }
+            int aggregated = 0;
+            for (final int count : pack.usedPackageCounts().values()) {
+                aggregated += count;
+            }
+            assertEquals(refs, aggregated);
+        }
     }
 }
@@ -152,7 +152,7 @@ public class ClassFileParserTest {
     @Test
     void innerClassImports() throws IOException {
         final JavaClass clazz = parse(Path.testClass("ExampleConcreteClass$ExampleInnerClass"));
-        assertCollectionEquals(clazz.usedForeignPackages(), new JavaPackage("java.lang"));
+        assertCollectionEquals(clazz.usedForeignPackages(), new JavaPackage("java.lang", 0));
     }
 
     @Test
@@ -170,7 +170,7 @@ public class ClassFileParserTest {
     @Test
     void packageClassImports() throws IOException {
         final JavaClass clazz = parse(Path.testClass("ExamplePackageClass"));
-        assertCollectionEquals(clazz.usedPackages(), new JavaPackage("java.lang"));
+        assertCollectionEquals(clazz.usedPackages(), new JavaPackage("java.lang", 0));
     }
 
     @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.pmd;
+
+import guru.nidi.codeassert.AnalyzerMetrics;
+import guru.nidi.codeassert.Instrumentation;
+import guru.nidi.codeassert.config.AnalyzerConfig;
+import org.hamcrest.StringDescription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+import static guru.nidi.codeassert.junit.CodeAssertMatchers.hasNoPmdViolations;
+import static guru.nidi.codeassert.pmd.Rulesets.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PmdCacheTest {
+    private final AnalyzerConfig config = AnalyzerConfig.maven().main("guru/nidi/codeassert/pmd");
+    private final PmdAnalyzer analyzer = new PmdAnalyzer(config, new PmdViolationCollector())
+            .withRulesets(basic(), design(), strings(), naming().variableLen(1, 20));
+    private final File cache = new File("target/pmd-test.cache");
+    private final File ruleset = new File("target/pmd-test-ruleset.xml");
+
+    @AfterEach
+    void deleteFiles() throws IOException {
+        Files.deleteIfExists(cache.toPath());
+        Files.deleteIfExists(ruleset.toPath());
+        try (DirectoryStream<Path> defaultCaches = Files.newDirectoryStream(Paths.get("target"), "code-assert-pmd-*")) {
+            for (final Path defaultCache : defaultCaches) {
+                Files.delete(defaultCache);
+            }
+        }
+    }
+
+    @Test
+    void sameViolationsAsWithoutCache() {
+        final String uncached = violations(analyzer.analyze());
+        analyzer.withCache(cache).analyze();
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        final String cached = violations(analyze(analyzer.withCache(cache), metrics));
+        assertEquals(uncached, cached);
+        assertEquals((long) config.getSources().size(), cachedFiles(metrics));
+    }
+
+    @Test
+    void changedPropertyInvalidatesCache() {
+        analyzer.withCache(cache).analyze();
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        analyze(analyzer.withRulesets(naming().variableLen(1, 10)).withCache(cache), metrics);
+        assertEquals(0L, cachedFiles(metrics));
+    }
+
+    @Test
+    void changedRulesetFileInvalidatesCache() throws IOException {
+        final PmdAnalyzer custom = analyzer.withRulesets(new Ruleset(ruleset.getPath())).withCache(cache);
+        writeRuleset(ruleset, "JumbledIncrementer");
+        custom.analyze();
+        writeRuleset(ruleset, "CollapsibleIfStatements");
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        analyze(custom, metrics);
+        assertEquals(0L, cachedFiles(metrics));
+    }
+
+    @Test
+    void defaultCacheFileDependsOnRulesets() {
+        analyzer.withCache().analyze();
+        analyzer.withRulesets(naming().variableLen(1, 10)).withCache().analyze();
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        analyze(analyzer.withCache(), metrics);
+        assertEquals((long) config.getSources().size(), cachedFiles(metrics));
+    }
+
+    private void writeRuleset(File file, String rule) throws IOException {
+        Files.write(file.toPath(), ("<?xml version='1.0'?>\n"
+                + "<ruleset name='custom' xmlns='http://pmd.sourceforge.net/ruleset/2.0.0'>\n"
+                + "  <description>custom</description>\n"
+                + "  <rule ref='rulesets/java/basic.xml/" + rule + "'/>\n"
+                + "</ruleset>\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PmdResult analyze(PmdAnalyzer analyzer, AnalyzerMetrics metrics) {
+        Instrumentation.addListener(metrics);
+        try {
+            return analyzer.analyze();
+        } finally {
+            Instrumentation.removeListener(metrics);
+        }
+    }
+
+    private long cachedFiles(AnalyzerMetrics metrics) {
+        return metrics.counters(PmdAnalyzer.NAME).get(Instrumentation.CACHED_FILES);
+    }
+
+    private String violations(PmdResult result) {
+        final StringDescription sd = new StringDescription();
+        hasNoPmdViolations().describeMismatch(result, sd);
+        return sd.toString();
+    }
+}
@@ -19,11 +19,15 @@ import guru.nidi.codeassert.AnalyzerResult;
 import guru.nidi.codeassert.Bugs;
 import guru.nidi.codeassert.checkstyle.CheckstyleTest;
 import guru.nidi.codeassert.config.*;
+import guru.nidi.codeassert.dependency.CycleTest;
 import guru.nidi.codeassert.dependency.DependencyRules;
 import guru.nidi.codeassert.dependency.DependencyRulesTest;
+import guru.nidi.codeassert.dependency.RuleValidatorTest;
+import guru.nidi.codeassert.export.GraphExporterTest;
 import guru.nidi.codeassert.findbugs.FindBugsTest;
 import guru.nidi.codeassert.model.ClassFileParserTest;
 import guru.nidi.codeassert.model.ExampleInterface;
+import guru.nidi.codeassert.util.LongIntMapTest;
 import net.sourceforge.pmd.RulePriority;
 import org.hamcrest.Matcher;
 import org.hamcrest.StringDescription;
@@ -37,6 +41,7 @@ import static guru.nidi.codeassert.pmd.Rulesets.Comments.Requirement.Ignored;
 import static guru.nidi.codeassert.pmd.Rulesets.Comments.Requirement.Required;
 import static guru.nidi.codeassert.pmd.Rulesets.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class PmdTest {
@@ -91,6 +96,32 @@ class PmdTest {
         assertThat(pmdResult, hasNoUnusedActions());
     }
 
+    @Test
+    void threads() {
+        final PmdAnalyzer analyzer = new PmdAnalyzer(AnalyzerConfig.maven().mainAndTest(), new PmdViolationCollector())
+                .withRulesets(basic(), design(), empty(), strings(), naming().variableLen(1, 20).methodLen(2));
+        assertEquals(mismatch(analyzer.withThreads(0).analyze()), mismatch(analyzer.withThreads(4).analyze()));
+    }
+
+    @Test
+    void pmdExcluding() {
+        final AnalyzerConfig config = AnalyzerConfig.maven().main("guru/nidi/codeassert/pmd").excluding("**/PmdAnalyzer.java");
+        final PmdResult result = new PmdAnalyzer(config, new PmdViolationCollector()).withRulesets(basic(), design()).analyze();
+        assertEquals(0, result.findings().stream()
+                .filter(violation -> violation.getFilename().endsWith("PmdAnalyzer.java"))
+                .count());
+    }
+
+    @Test
+    void cpdExcluding() {
+        final AnalyzerConfig config = AnalyzerConfig.maven().main("guru/nidi/codeassert/pmd").excluding("**/PmdAnalyzer.java");
+        final CpdResult result = new CpdAnalyzer(config, 25, new CpdMatchCollector()).analyze();
+        assertEquals(0, result.findings().stream()
+                .flatMap(match -> match.getMarkSet().stream())
+                .filter(mark -> mark.getFilename().endsWith("PmdAnalyzer.java"))
+                .count());
+    }
+
     @Test
     void duplications() {
         assertMatcher(""
@@ -126,7 +157,10 @@ class PmdTest {
                                 In.clazz(Bugs.class).ignore("UnusedLocalVariable"),
                                 In.locs("*Test").ignore("TooManyStaticImports", "AvoidDollarSigns", "AddEmptyString", "DoNotCallGarbageCollectionExplicitly", "AvoidDuplicateLiterals"),
                                 In.classes(ClassFileParserTest.class).ignore("JUnitTestsShouldIncludeAssert", "JUnitTestContainsTooManyAsserts"),
-                                In.classes(DependencyRulesTest.class, LocationMatcherTest.class, LocationNameMatcherTest.class).ignore("JUnitTestContainsTooManyAsserts"),
+                                In.classes(DependencyRulesTest.class, RuleValidatorTest.class, LocationMatcherTest.class, NamePatternTest.class, LocationNameMatcherTest.class, LongIntMapTest.class, BaselineTest.class, GraphExporterTest.class, CycleTest.class).ignore("JUnitTestContainsTooManyAsserts"),
+                                In.locs("PmdCacheTest", "PooledRulesConfigurationTest", "AnalyzerWatcherTest", "InstrumentationTest", "TarjanTest").ignore("JUnitTestContainsTooManyAsserts"),
+                                In.loc("AnalyzerWatcherTest").ignore("DoNotUseThreads"),
+                                In.loc("AnalyzerWatcher").ignore("AvoidCatchingGenericException"),
                                 In.clazz(DependencyRulesTest.class).ignore("VariableNamingConventions"),
                                 In.clazz(DependencyRules.class).ignore("LongVariable"),
                                 In.classes(PmdTest.class, FindBugsTest.class, CheckstyleTest.class).ignore("AddEmptyString", "UseObjectForClearerAPI"),
@@ -160,9 +194,17 @@ class PmdTest {
 
     private <T extends AnalyzerResult<?>> void assertMatcher(String message, T result, Matcher<T> matcher) {
         assertFalse(matcher.matches(result));
+        assertThat(mismatch(result, matcher), matchesFormat(message));
+    }
+
+    private String mismatch(PmdResult result) {
+        return mismatch(result, hasNoPmdViolations());
+    }
+
+    private <T extends AnalyzerResult<?>> String mismatch(T result, Matcher<T> matcher) {
         final StringDescription sd = new StringDescription();
         matcher.describeMismatch(result, sd);
-        assertThat(sd.toString(), matchesFormat(message));
+        return sd.toString();
     }
 
     private String pmd(String priority, String name, String scope, String file, String desc) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.pmd;
+
+import guru.nidi.codeassert.AnalyzerMetrics;
+import guru.nidi.codeassert.Instrumentation;
+import guru.nidi.codeassert.config.AnalyzerConfig;
+import org.junit.jupiter.api.Test;
+
+import static guru.nidi.codeassert.pmd.Rulesets.naming;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PooledRulesConfigurationTest {
+    @Test
+    void reuseLoadedRules() {
+        final PmdAnalyzer analyzer = new PmdAnalyzer(AnalyzerConfig.maven().main("guru/nidi/codeassert/pmd"),
+                new PmdViolationCollector()).withRulesets(naming().variableLen(3, 17)).withThreads(0);
+        assertEquals(1L, (long) loadedRuleSets(analyzer));
+        assertNull(loadedRuleSets(analyzer));
+    }
+
+    @Test
+    void changedPropertyLoadsRules() {
+        final PmdAnalyzer analyzer = new PmdAnalyzer(AnalyzerConfig.maven().main("guru/nidi/codeassert/pmd"),
+                new PmdViolationCollector()).withRulesets(naming().variableLen(3, 18)).withThreads(0);
+        loadedRuleSets(analyzer);
+        assertEquals(1L, (long) loadedRuleSets(analyzer.withRulesets(naming().variableLen(3, 19))));
+    }
+
+    @Test
+    void poolIsBoundedByThreads() {
+        final Ruleset ruleset = naming().variableLen(3, 16);
+        final PooledRulesConfiguration first = borrow(ruleset);
+        final PooledRulesConfiguration second = borrow(ruleset);
+        first.close();
+        second.close();
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        Instrumentation.addListener(metrics);
+        try {
+            borrow(ruleset);
+            borrow(ruleset);
+        } finally {
+            Instrumentation.removeListener(metrics);
+        }
+        assertEquals(1L, (long) metrics.counters(PmdAnalyzer.NAME).get(Instrumentation.LOADED_RULE_SETS));
+    }
+
+    private PooledRulesConfiguration borrow(Ruleset ruleset) {
+        final PooledRulesConfiguration config = new PooledRulesConfiguration(singletonList(ruleset), null);
+        config.setThreads(1);
+        config.getPmdRuleSets();
+        return config;
+    }
+
+    private Long loadedRuleSets(PmdAnalyzer analyzer) {
+        final AnalyzerMetrics metrics = new AnalyzerMetrics();
+        Instrumentation.addListener(metrics);
+        try {
+            analyzer.analyze();
+        } finally {
+            Instrumentation.removeListener(metrics);
+        }
+        return metrics.counters(PmdAnalyzer.NAME).get(Instrumentation.LOADED_RULE_SETS);
+    }
+}
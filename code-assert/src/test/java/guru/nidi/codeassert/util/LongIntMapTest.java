@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongIntMapTest {
+    @Test
+    void key() {
+        final long key = LongIntMap.key(42, 7);
+        assertEquals(42, LongIntMap.high(key));
+        assertEquals(7, LongIntMap.low(key));
+    }
+
+    @Test
+    void putAndGet() {
+        final LongIntMap map = new LongIntMap();
+        map.put(LongIntMap.key(1, 2), 3);
+        map.putIfAbsent(LongIntMap.key(1, 2), 4);
+        assertEquals(3, map.get(LongIntMap.key(1, 2), 0));
+        map.put(LongIntMap.key(1, 2), 5);
+        assertEquals(5, map.get(LongIntMap.key(1, 2), 0));
+        assertEquals(-1, map.get(LongIntMap.key(2, 1), -1));
+        assertFalse(map.containsKey(LongIntMap.key(2, 1)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void grow() {
+        final LongIntMap map = new LongIntMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(LongIntMap.key(i, i + 1), i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(LongIntMap.key(i, i + 1), -1));
+        }
+        final long[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(LongIntMap.key(0, 1), keys[0]);
+        assertEquals(1000, keys.length);
+    }
+
+    @Test
+    void negativeKey() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntMap().put(-5, 1));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2015 Stefan Niederhauser (nidin@gmx.ch)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package guru.nidi.codeassert.watch;
+
+import guru.nidi.codeassert.Analyzer;
+import guru.nidi.codeassert.AnalyzerException;
+import guru.nidi.codeassert.AnalyzerResult;
+import guru.nidi.codeassert.config.AnalyzerConfig;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyzerWatcherTest {
+    private static final long TIMEOUT = 10;
+
+    private final List<String> runs = new CopyOnWriteArrayList<>();
+    private final List<Path> tempDirs = new ArrayList<>();
+
+    @AfterEach
+    void deleteTempDirs() throws IOException {
+        for (final Path dir : tempDirs) {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    void batchesChangesUntilQuiet() throws IOException {
+        final Path root = tempDir();
+        try (ChangeWatcher watcher = new ChangeWatcher()) {
+            watcher.register(root);
+            final Path sub = Files.createDirectory(root.resolve("sub"));
+            final Path a = Files.write(sub.resolve("A.class"), new byte[]{1});
+            final Path b = Files.write(root.resolve("B.class"), new byte[]{2});
+            final Set<Path> changes = assertTimeoutPreemptively(ofSeconds(TIMEOUT), () -> watcher.awaitChanges(500));
+            assertEquals(new TreeSet<>(asList(sub, a, b)), changes);
+        }
+    }
+
+    @Test
+    void watchRerunsAffectedAnalyzers() throws IOException, InterruptedException {
+        final Path sources = tempDir();
+        final Path classes = tempDir();
+        final RecordingListener listener = new RecordingListener();
+        final Thread thread = new Thread(new AnalyzerWatcher(new AnalyzerConfig()
+                .withSources(sources.toFile())
+                .withClasses(classes.toFile()))
+                .onSourceChange(factory("source"))
+                .onClassChange(factory("class"))
+                .debounce(50)
+                .listener(listener)::watch);
+        thread.start();
+        try {
+            awaitRuns(listener, 2);
+            Files.write(classes.resolve("A.class"), new byte[]{1});
+            awaitRuns(listener, 1);
+            assertEquals(asList("source", "class", "class"), runs);
+        } finally {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        }
+        assertFalse(thread.isAlive());
+    }
+
+    private void awaitRuns(RecordingListener listener, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            assertNotNull(listener.events.poll(TIMEOUT, TimeUnit.SECONDS), "analyzer did not run in time");
+        }
+    }
+
+    private Path tempDir() throws IOException {
+        final Path dir = Files.createTempDirectory("watch").toRealPath();
+        tempDirs.add(dir);
+        return dir;
+    }
+
+    @Test
+    void onlyAffectedAnalyzersRun() throws UnsupportedEncodingException {
+        final AnalyzerWatcher watcher = new AnalyzerWatcher(new AnalyzerConfig()
+                .withSources(new File("src/main/java"))
+                .withClasses(new File("target/classes")))
+                .onSourceChange(factory("source"))
+                .onClassChange(factory("class"))
+                .listener(new DeltaPrinter(new PrintStream(new ByteArrayOutputStream(), true, "utf-8")));
+        watcher.analyzeChanges(asList(Paths.get("target/classes/A.class").toAbsolutePath()));
+        watcher.analyzeChanges(asList(Paths.get("src/main/java/A.java").toAbsolutePath()));
+        watcher.analyzeChanges(asList(Paths.get("other/A.java").toAbsolutePath()));
+        assertEquals(asList("class", "source"), runs);
+    }
+
+    @Test
+    void failingAnalyzerDoesNotStopWatching() {
+        final AtomicInteger calls = new AtomicInteger();
+        final RecordingListener listener = new RecordingListener();
+        final AnalyzerWatcher watcher = new AnalyzerWatcher(new AnalyzerConfig()
+                .withClasses(new File("target/classes")))
+                .onClassChange(config -> {
+                    if (calls.incrementAndGet() == 2) {
+                        throw new AnalyzerException("Half written class file");
+                    }
+                    return analyzer("class", asList("a"));
+                })
+                .listener(listener);
+        final List<Path> changes = asList(Paths.get("target/classes/A.class").toAbsolutePath());
+        watcher.analyzeChanges(changes);
+        watcher.analyzeChanges(changes);
+        watcher.analyzeChanges(changes);
+
+        final List<Object> events = new ArrayList<>(listener.events);
+        assertEquals(3, events.size());
+        assertTrue(events.get(1) instanceof AnalyzerException);
+        assertEquals(asList(null, events.get(0)), listener.previous);
+    }
+
+    @Test
+    void printsDelta() throws UnsupportedEncodingException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final DeltaPrinter printer = new DeltaPrinter(new PrintStream(out, true, "utf-8"));
+        final Analyzer<List<String>> analyzer = analyzer("test", asList("a", "b"));
+        printer.analyzed(analyzer.analyze(), analyzer("test", asList("b", "c")).analyze());
+        assertEquals(String.format("%s: 2 findings (+1, -1)%n  + c%n  - a%n", analyzer.getClass().getSimpleName()),
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private AnalyzerFactory factory(final String name) {
+        return config -> analyzer(name, Collections.<String>emptyList());
+    }
+
+    private static class RecordingListener implements WatchListener {
+        final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+        final List<AnalyzerResult<?>> previous = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void analyzed(AnalyzerResult<?> previous, AnalyzerResult<?> current) {
+            this.previous.add(previous);
+            events.add(current);
+        }
+
+        @Override
+        public void failed(AnalyzerFactory factory, RuntimeException error) {
+            events.add(error);
+        }
+    }
+
+    private Analyzer<List<String>> analyzer(final String name, final List<String> findings) {
+        return new Analyzer<List<String>>() {
+            @Override
+            public AnalyzerResult<List<String>> analyze() {
+                runs.add(name);
+                return new AnalyzerResult<>(this, findings, Collections.<String>emptyList());
+            }
+        };
+    }
+}